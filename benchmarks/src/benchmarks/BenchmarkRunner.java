@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks of this module with the GC profiler, which reports the allocation rate
+ * ({@code gc.alloc.rate.norm} is the number of bytes allocated per sort) next to the throughput.</br></br>
+ *
+ * The usual JMH options are accepted, e.g. {@code BenchmarkRunner SortingBenchmark.merge -p size=1000000}.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(commandLine);
+		if(commandLine.getIncludes().isEmpty()) {
+			builder.include("benchmarks\\..*");
+		}
+		builder.addProfiler(GCProfiler.class);
+
+		Options options = builder.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * The shapes of input the sorting algorithms are measured on.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public enum Distribution {
+
+	/**
+	 * Uniformly random integers.
+	 */
+	RANDOM,
+
+	/**
+	 * 0, 1, 2, ..., n-1.
+	 */
+	SORTED,
+
+	/**
+	 * n-1, n-2, ..., 0.
+	 */
+	REVERSED,
+
+	/**
+	 * Random integers taken among 16 distinct values.
+	 */
+	FEW_UNIQUE,
+
+	/**
+	 * Ascending up to the middle then descending: 0, 1, ..., n/2, ..., 1, 0.
+	 */
+	ORGAN_PIPE;
+
+	private static final int FEW_UNIQUE_VALUES = 16;
+
+	/**
+	 * Create an input of the given size following this distribution.
+	 * @param size	the number of elements.
+	 * @param seed	the seed of the pseudo-random number generator, so that every algorithm sorts the same input.
+	 * @return		the input.
+	 */
+	public int[] create(int size, long seed) {
+		Random random = new Random(seed);
+		int[] array = new int[size];
+
+		for(int i = 0; i < size; i++) {
+			switch(this) {
+			case RANDOM:
+				array[i] = random.nextInt();
+				break;
+			case SORTED:
+				array[i] = i;
+				break;
+			case REVERSED:
+				array[i] = size - 1 - i;
+				break;
+			case FEW_UNIQUE:
+				array[i] = random.nextInt(FEW_UNIQUE_VALUES);
+				break;
+			case ORGAN_PIPE:
+				array[i] = Math.min(i, size - 1 - i);
+				break;
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Works like {@link #create(int, long) create} for the algorithms sorting {@link Comparable} elements.
+	 */
+	public Integer[] createBoxed(int size, long seed) {
+		int[] values = create(size, seed);
+		Integer[] array = new Integer[size];
+		for(int i = 0; i < size; i++) {
+			array[i] = values[i];
+		}
+		return array;
+	}
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import structures.LinearProbing;
+import structures.SeparateChaining;
+
+/**
+ * Lookups of random keys, one at a time or by batch, in tables from fitting in the cache to far beyond it.</br></br>
+ *
+ * Each invocation looks up the same {@value #LOOKUPS} keys, half of which are missing.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class HashTableBenchmark {
+
+	private static final long SEED = 1313L;
+
+	private static final int LOOKUPS = 1 << 16;
+
+	@Param({"10000", "1000000", "4000000"})
+	private int size;
+
+	private LinearProbing<Integer, Integer> linearProbing;
+
+	private SeparateChaining<Integer, Integer> separateChaining;
+
+	private Integer[] lookups;
+
+	private Integer[] results;
+
+	@Setup(Level.Trial)
+	public void createTables() {
+		Random random = new Random(SEED);
+
+		// the images of a range of 2*size ints by a bijection are distinct and look random, with no pattern in their low bits:
+		// the first half is inserted, the second half is missing.
+		int offset = random.nextInt();
+		Integer[] keys = new Integer[size];
+		for(int i = 0; i < size; i++) {
+			keys[i] = scramble(offset + i);
+		}
+
+		linearProbing = new LinearProbing<>();
+		linearProbing.putAll(keys, keys);
+		separateChaining = new SeparateChaining<>();
+		separateChaining.putAll(keys, keys);
+
+		lookups = new Integer[LOOKUPS];
+		for(int i = 0; i < LOOKUPS; i++) {
+			int k = random.nextInt(size);
+			lookups[i] = random.nextBoolean() ? keys[k] : scramble(offset + size + k);
+		}
+		results = new Integer[LOOKUPS];
+	}
+
+	/**
+	 * The finalizer of MurmurHash3, a bijection of the ints.
+	 */
+	private static int scramble(int x) {
+		x ^= x >>> 16;
+		x *= 0x85EBCA6B;
+		x ^= x >>> 13;
+		x *= 0xC2B2AE35;
+		x ^= x >>> 16;
+		return x;
+	}
+
+	@Benchmark
+	public Integer[] linearProbingGet() {
+		for(int i = 0; i < LOOKUPS; i++) {
+			results[i] = linearProbing.get(lookups[i]);
+		}
+		return results;
+	}
+
+	@Benchmark
+	public Integer[] linearProbingGetAll() {
+		linearProbing.getAll(lookups, results);
+		return results;
+	}
+
+	@Benchmark
+	public Integer[] separateChainingGet() {
+		for(int i = 0; i < LOOKUPS; i++) {
+			results[i] = separateChaining.get(lookups[i]);
+		}
+		return results;
+	}
+
+	@Benchmark
+	public Integer[] separateChainingGetAll() {
+		separateChaining.getAll(lookups, results);
+		return results;
+	}
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sorting.Bubble;
+import sorting.Insertion;
+import sorting.Selection;
+
+/**
+ * Throughput of the quadratic sorting algorithms.</br>
+ * They are measured apart from {@link SortingBenchmark} since a single sort of a million elements already takes minutes,
+ * so the sizes stop at 10K.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuadraticSortingBenchmark {
+
+	private static final long SEED = 1313L;
+
+	@Param({"1000", "10000"})
+	private int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+	private Distribution distribution;
+
+	private Integer[] input;
+
+	private Integer[] array;
+
+	@Setup(Level.Trial)
+	public void createInput() {
+		input = distribution.createBoxed(size, SEED);
+		array = new Integer[size];
+	}
+
+	private Integer[] copy() {
+		System.arraycopy(input, 0, array, 0, size);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] bubble() {
+		Integer[] a = copy();
+		Bubble.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] selection() {
+		Integer[] a = copy();
+		Selection.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] insertion() {
+		Integer[] a = copy();
+		Insertion.optimizedSort(a);
+		return a;
+	}
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import multithreading.ForkJoinMergeSort;
+import multithreading.ParallelMergeSort1;
+import multithreading.ParallelMergeSort2;
+import sorting.Heap;
+import sorting.Merge;
+import sorting.Quick;
+import sorting.Shell;
+import sorting.Tim;
+
+/**
+ * Throughput of the O(n log n) sorting algorithms, from 1K to 10M elements.</br></br>
+ *
+ * Each invocation first copies the input into a preallocated array, so that every algorithm sorts the same data;
+ * this O(n) copy costs the same to every algorithm and does not allocate.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SortingBenchmark {
+
+	private static final long SEED = 1313L;
+
+	@Param({"1000", "100000", "1000000", "10000000"})
+	private int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+	private Distribution distribution;
+
+	private Integer[] input;
+
+	private Integer[] array;
+
+	@Setup(Level.Trial)
+	public void createInput() {
+		input = distribution.createBoxed(size, SEED);
+		array = new Integer[size];
+	}
+
+	private Integer[] copy() {
+		System.arraycopy(input, 0, array, 0, size);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] shell() {
+		Integer[] a = copy();
+		Shell.optimizedSort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] merge() {
+		Integer[] a = copy();
+		Merge.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] quick() {
+		Integer[] a = copy();
+		Quick.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] heap() {
+		Integer[] a = copy();
+		Heap.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] tim() {
+		Integer[] a = copy();
+		Tim.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] parallelMergeSort1() {
+		Integer[] a = copy();
+		ParallelMergeSort1.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] parallelMergeSort2() {
+		Integer[] a = copy();
+		ParallelMergeSort2.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Integer[] forkJoinMergeSort() {
+		Integer[] a = copy();
+		ForkJoinMergeSort.sort(a);
+		return a;
+	}
+}
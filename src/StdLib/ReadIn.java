@@ -1,11 +1,17 @@
 package StdLib;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
 
@@ -213,4 +219,56 @@ public final class ReadIn {
 		String[] fields = all.split("\\s+");
 		return fields;
 	}
+
+	/**
+	 * Read a file line by line without loading it into memory, unlike the constructors above.
+	 * @param file	the UTF-8 text file.
+	 * @return		the lines, the reader must be closed once done.
+	 * @throws IOException	if the file can't be opened.
+	 */
+	public static LineReader lines(Path file) throws IOException {
+		return new LineReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Iterates over the lines of a text stream, without their line terminator.
+	 */
+	public static final class LineReader implements Iterator<String>, Closeable {
+
+		private final BufferedReader reader;
+
+		/**
+		 * The line to be returned by {@link #next()}, null at the end of the stream.
+		 */
+		private String nextLine;
+
+		private LineReader(BufferedReader reader) throws IOException {
+			this.reader = reader;
+			this.nextLine = reader.readLine();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextLine != null;
+		}
+
+		@Override
+		public String next() {
+			if(nextLine == null) {
+				throw new NoSuchElementException("There aren't any lines left!!");
+			}
+			String line = nextLine;
+			try {
+				nextLine = reader.readLine();
+			}catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return line;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
 }
@@ -0,0 +1,5 @@
+package enums;
+
+public enum MultiplicationStrategy {
+	NAIVE, BLOCKED, BLOCKED_TRANSPOSED;
+}
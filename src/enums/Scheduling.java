@@ -0,0 +1,5 @@
+package enums;
+
+public enum Scheduling {
+	STATIC_ROWS, WORK_STEALING;
+}
@@ -1,7 +1,13 @@
 package helper;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+
+import multithreading.ThreadHelper;
+import structures.LoserTree;
 
 
 public final class GenericHelper {
@@ -9,6 +15,11 @@ public final class GenericHelper {
 	private static Random random;    // pseudo-random number generator
 	private static long seed;        // pseudo-random number generator seed
 
+	/**
+	 * Below this number of elements the k-way merge is not worth being split between threads.
+	 */
+	private static final int PARALLEL_MERGE_THRESHOLD = 1 << 16;
+
 	// static initializer
 	static {
 		// this is how the seed was set iJava 1.4
@@ -62,6 +73,17 @@ public final class GenericHelper {
 		return value1.compareTo(value2) > 0;
 	}
 
+	/**
+	 * Check whether value1 comes before value2 in the order given by the comparator.
+	 * @param value1		the first value to compare to.
+	 * @param value2		the second value to compare to.
+	 * @param comparator	the ordering to be used.
+	 * @return true if value1 is smaller than value2, otherwise false.
+	 */
+	public static <T> boolean isLess(T value1, T value2, Comparator<? super T> comparator) {
+		return comparator.compare(value1, value2) < 0;
+	}
+
 	/**
 	 * Perform the swapping of two elements within an array.
 	 * @param array		the array in which two elements is swapped
@@ -79,6 +101,37 @@ public final class GenericHelper {
 		array[second] = temp;
 	}
 
+	/**
+	 * Perform the swapping of two elements within a primitive array.<br>
+	 * The bounds are left to the JVM so that this stays cheap in the inner loops of the sorting algorithms.
+	 * @param array		the array in which two elements is swapped
+	 * @param first		the first index.
+	 * @param second	the second index.
+	 */
+	public static void swap(int[] array, int first, int second) {
+		int temp = array[first];
+		array[first] = array[second];
+		array[second] = temp;
+	}
+
+	/**
+	 * See {@link #swap(int[], int, int) swap}.
+	 */
+	public static void swap(long[] array, int first, int second) {
+		long temp = array[first];
+		array[first] = array[second];
+		array[second] = temp;
+	}
+
+	/**
+	 * See {@link #swap(int[], int, int) swap}.
+	 */
+	public static void swap(double[] array, int first, int second) {
+		double temp = array[first];
+		array[first] = array[second];
+		array[second] = temp;
+	}
+
 	/**
 	 * Check whether a given array is sorted.
 	 * @param array		the array to check whether it is sorted or not.
@@ -131,6 +184,44 @@ public final class GenericHelper {
 		return true;
 	}
 
+	/**
+	 * Check whether a given primitive array is sorted.
+	 * @param array		the array to check whether it is sorted or not.
+	 * @return	true if the given array is sorted, otherwise false.
+	 */
+	public static boolean isSorted(int[] array) {
+		for(int i = 1; i < array.length; i++) {
+			if(array[i] < array[i-1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * See {@link #isSorted(int[]) isSorted}.
+	 */
+	public static boolean isSorted(long[] array) {
+		for(int i = 1; i < array.length; i++) {
+			if(array[i] < array[i-1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * See {@link #isSorted(int[]) isSorted}.
+	 */
+	public static boolean isSorted(double[] array) {
+		for(int i = 1; i < array.length; i++) {
+			if(array[i] < array[i-1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Rearrange the elements of an array in random order.
 	 * 
@@ -171,6 +262,25 @@ public final class GenericHelper {
 		return arr;
 	}
 
+	/**
+	 * Works like {@link #createRandomArray(int, long) createRandomArray} but without boxing the values.
+	 * @param size	the size of the array.
+	 * @param seed	the seed of the pseudo-random number generator.
+	 * @return		an array of random integers.
+	 */
+	public static int[] createRandomIntArray(int size, long seed) {
+
+		int[] arr = new int[size];
+
+		Random rand = new Random(seed);
+
+		for(int i = 0; i < size; i++) {
+			arr[i] = rand.nextInt();
+		}
+
+		return arr;
+	}
+
 	/**
 	 * Split an array into n parts.
 	 * @param source	the original array.
@@ -187,23 +297,16 @@ public final class GenericHelper {
 			throw new IllegalArgumentException("can't split into 0 part!!");
 		}
 
-		int chunkSize = (int) (Math.ceil(source.length / (double)parts));
-
 		T[][] results = (T[][]) new Comparable[parts][];
 
 		int sourceLength = source.length;
 
-		for(int i = 0, start = 0; i < results.length; i++) {
-
-			if((start + chunkSize) > sourceLength) {
-				results[i] = (T[]) new Comparable[sourceLength - start];
-				System.arraycopy(source, start, results[i], 0, results[i].length);
-			}else {
-				results[i] = (T[]) new Comparable[chunkSize];
-				System.arraycopy(source, start, results[i], 0, chunkSize);
-			}
-
-			start += chunkSize;
+		// the part i starts at n*i/parts, so that the parts differ by one element at most and none of them starts beyond the end.
+		for(int i = 0; i < results.length; i++) {
+			int start = (int) ((long) sourceLength * i / parts);
+			int end = (int) ((long) sourceLength * (i + 1) / parts);
+			results[i] = (T[]) new Comparable[end - start];
+			System.arraycopy(source, start, results[i], 0, end - start);
 		}
 
 		return results;
@@ -227,18 +330,139 @@ public final class GenericHelper {
 			}
 		}
 
-		T[] result = null;
+		if(arrays.length == 1) {
+			return arrays[0];
+		}
+
+		int N = 0;
+		for(T[] arr : arrays) {
+			N += arr.length;
+		}
+
+		return kWayMerge((T[]) new Comparable[N], arrays);
+	}
+
+	/**
+	 * Merge several sorted arrays in a single pass into a preallocated destination thanks to a {@link LoserTree}.<br>
+	 * Unlike {@link #mergeArrays(Comparable[]...) mergeArrays}, the arrays are not checked beforehand.
+	 * The merge is stable: equal elements keep the order of the arrays they come from.
+	 * @param destination	the array receiving the merged elements from its index 0.
+	 * @param arrays		the sorted arrays to be merged.
+	 * @return				the destination.
+	 */
+	@SafeVarargs
+	public static <T extends Comparable<? super T>> T[] kWayMerge(T[] destination, T[]... arrays) {
+
+		int N = totalLength(destination, arrays);
+
+		LoserTree<T> tree = new LoserTree<>(arrays);
+		for(int k = 0; k < N; k++) {
+			destination[k] = tree.next();
+		}
+
+		return destination;
+	}
+
+	/**
+	 * Works like {@link #kWayMerge(Comparable[], Comparable[]...) kWayMerge} but the output is divided into disjoint segments merged concurrently.<br>
+	 * The segments are delimited by splitters sampled from the arrays: for each splitter, a binary search gives the position
+	 * of its first occurrence in every array, so that all of the elements before it go into the previous segment.
+	 * The segments are merged on the {@link ThreadHelper#pool() shared pool}.
+	 * @param destination	the array receiving the merged elements from its index 0.
+	 * @param parallelism	the number of segments merged concurrently.
+	 * @param arrays		the sorted arrays to be merged.
+	 * @return				the destination.
+	 */
+	@SafeVarargs
+	public static <T extends Comparable<? super T>> T[] parallelKWayMerge(T[] destination, int parallelism, T[]... arrays) {
+
+		int N = totalLength(destination, arrays);
+
+		if(parallelism <= 1 || N < PARALLEL_MERGE_THRESHOLD) {
+			return kWayMerge(destination, arrays);
+		}
+
+		// Sampling evenly 'parallelism' elements from each array.
+		T[] sample = (T[]) new Comparable[parallelism * arrays.length];
+		int sampleSize = 0;
+		for(T[] arr : arrays) {
+			for(int s = 0; s < parallelism && arr.length > 0; s++) {
+				sample[sampleSize++] = arr[(int) ((long) s * arr.length / parallelism)];
+			}
+		}
+		Arrays.sort(sample, 0, sampleSize);
+
+		// bounds[s][i] is the first index of the array i belonging to the segment s.
+		int[][] bounds = new int[parallelism + 1][arrays.length];
+		for(int i = 0; i < arrays.length; i++) {
+			bounds[parallelism][i] = arrays[i].length;
+		}
+		for(int s = 1; s < parallelism; s++) {
+			T splitter = sample[s * sampleSize / parallelism];
+			for(int i = 0; i < arrays.length; i++) {
+				bounds[s][i] = lowerBound(arrays[i], splitter);
+			}
+		}
 
-		if(arrays.length >= 2) {
-			result = arrays[0];
-			for(int i = 1; i < arrays.length; i++) {
-				result = merge(result, arrays[i]);
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[parallelism];
+		for(int s = 0, offset = 0; s < parallelism; s++) {
+			final int[] from = bounds[s], to = bounds[s + 1];
+			final int start = offset;
+			int segmentLength = 0;
+			for(int i = 0; i < arrays.length; i++) {
+				segmentLength += to[i] - from[i];
 			}
-		}else {
-			result = arrays[0];
+			final int end = start + segmentLength;
+			offset = end;
+
+			tasks[s] = ThreadHelper.pool().submit(() -> {
+				LoserTree<T> tree = new LoserTree<>(arrays, from, to);
+				for(int k = start; k < end; k++) {
+					destination[k] = tree.next();
+				}
+			});
 		}
 
-		return result;
+		for(ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+
+		return destination;
+	}
+
+	/**
+	 * @return	the number of elements to be merged once checked that the destination is large enough.
+	 */
+	private static <T> int totalLength(T[] destination, T[][] arrays) {
+		if(destination == null || arrays == null) {
+			throw new IllegalArgumentException("Can't merge into or from a null array!");
+		}
+
+		int N = 0;
+		for(T[] arr : arrays) {
+			N += arr.length;
+		}
+
+		if(destination.length < N) {
+			throw new IllegalArgumentException("The destination can't hold " + N + " elements!");
+		}
+		return N;
+	}
+
+	/**
+	 * @return	the index of the first element of the sorted array which is not smaller than the key.
+	 */
+	private static <T extends Comparable<? super T>> int lowerBound(T[] array, T key) {
+		int from = 0, to = array.length;
+		while(from < to) {
+			int middle = (from + to) >>> 1;
+			if(array[middle].compareTo(key) < 0) {
+				from = middle + 1;
+			}else {
+				to = middle;
+			}
+		}
+		return from;
 	}
 
 	/**
@@ -0,0 +1,11 @@
+package interfaces;
+
+public interface IParallelismPolicy {
+
+	/**
+	 * Choose the degree of parallelism for a given amount of work.
+	 * @param inputSize	the number of elements to be processed.
+	 * @return			the number of threads to be used, at least 1.
+	 */
+	int threads(long inputSize);
+}
@@ -0,0 +1,106 @@
+package junit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import structures.ConcurrentSeparateChaining;
+
+public class ConcurrentSeparateChainingTest
+{
+    private static final int THREADS = 4;
+
+    private static final int KEYS_PER_THREAD = 50_000;
+
+    @Test
+    public void concurrentWritesAcrossResizes() throws Exception
+    {
+        // a tiny table, so that the writers keep resizing it while the others read it.
+        ConcurrentSeparateChaining<Integer, Integer> table = new ConcurrentSeparateChaining<>(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2 * THREADS);
+        try
+        {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++)
+            {
+                int from = t * KEYS_PER_THREAD;
+                int to = from + KEYS_PER_THREAD;
+
+                // each writer owns its keys: it puts them, rewrites them, then deletes the odd ones.
+                tasks.add(() -> {
+                    for (int key = from; key < to; key++)
+                    {
+                        table.put(key, key);
+                        assert table.get(key) == key;
+                    }
+                    for (int key = from; key < to; key++)
+                    {
+                        table.put(key, -key);
+                    }
+                    for (int key = from + 1; key < to; key += 2)
+                    {
+                        table.delete(key);
+                        assert table.get(key) == null;
+                    }
+                    return null;
+                });
+
+                // each reader sees a key either missing or with one of the values it has been given.
+                tasks.add(() -> {
+                    for (int round = 0; round < 3; round++)
+                    {
+                        for (int key = from; key < to; key++)
+                        {
+                            Integer value = table.get(key);
+                            assert value == null || value == key || value == -key;
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executor.invokeAll(tasks))
+            {
+                future.get();// rethrows the failed assertions.
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assert table.size() == THREADS * KEYS_PER_THREAD / 2;
+        for (int key = 0; key < THREADS * KEYS_PER_THREAD; key++)
+        {
+            Integer value = table.get(key);
+            assert (key % 2 == 0) ? value == -key : value == null;
+        }
+
+        int keys = 0;
+        for (Integer key : table)
+        {
+            assert key % 2 == 0;
+            keys++;
+        }
+        assert keys == table.size();
+    }
+
+    @Test
+    public void growsWithSpreadKeys()
+    {
+        ConcurrentSeparateChaining<Integer, Integer> table = new ConcurrentSeparateChaining<>();
+
+        // sequential keys land in empty slots, without ever colliding before the table is full.
+        for (int key = 0; key < 100_000; key++)
+        {
+            table.put(key, key);
+            assert table.load() <= 0.75f;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package junit;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import structures.CuckooHashing;
+
+public class CuckooHashingTest
+{
+    /**
+     * A key of a chosen hash code, so that the keys can be sent to the buckets of a test.
+     */
+    private static final class Key
+    {
+        private final int id;
+
+        private final int hash;
+
+        Key(int id, int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Key(" + id + ", " + hash + ")";
+        }
+    }
+
+    /**
+     * @return the first slots of the two buckets of a hash code, by the hash functions of the current seed of the table.
+     */
+    private static int[] buckets(CuckooHashing<Key, Integer> table, int hash) throws Exception
+    {
+        Method bucket1 = CuckooHashing.class.getDeclaredMethod("bucket1", int.class);
+        Method bucket2 = CuckooHashing.class.getDeclaredMethod("bucket2", int.class);
+        bucket1.setAccessible(true);
+        bucket2.setAccessible(true);
+        return new int[] { (int) bucket1.invoke(table, hash), (int) bucket2.invoke(table, hash) };
+    }
+
+    private static List<Key> keys(CuckooHashing<Key, Integer> table)
+    {
+        List<Key> keys = new ArrayList<>();
+        for (Key key : table)
+        {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void kicksOutToTheOtherBucket() throws Exception
+    {
+        CuckooHashing<Key, Integer> table = new CuckooHashing<>(256);
+
+        // a key whose two buckets are filled by keys having their other bucket free.
+        int[] target = buckets(table, 0);
+        assert target[0] != target[1];
+        List<Key> keys = new ArrayList<>();
+        for (int hash = 1, first = 0, second = 0; first < 4 || second < 4; hash++)
+        {
+            int[] b = buckets(table, hash);
+            if (b[1] == target[0] || b[1] == target[1])
+            {
+                continue;
+            }
+            if (b[0] == target[0] && first < 4)
+            {
+                keys.add(new Key(hash, hash));
+                first++;
+            }
+            else if (b[0] == target[1] && second < 4)
+            {
+                keys.add(new Key(hash, hash));
+                second++;
+            }
+        }
+        for (Key key : keys)
+        {
+            table.put(key, key.id);
+        }
+        assert table.stashSize() == 0;
+
+        Key kicker = new Key(0, 0);
+        table.put(kicker, 0);
+        keys.add(kicker);
+
+        // one key has left a full bucket for its other one, instead of the new key going to the stash.
+        assert table.stashSize() == 0;
+        assert table.size() == keys.size();
+        for (Key key : keys)
+        {
+            assert table.get(key) == key.id;
+        }
+    }
+
+    @Test
+    public void kicksOutUpToTheLoadFactor()
+    {
+        CuckooHashing<Integer, Integer> table = new CuckooHashing<>(1 << 12);
+        table.setMetricsEnabled(true);
+
+        int keys = table.threshold();
+        for (int key = 0; key < keys; key++)
+        {
+            table.put(key * 0x9E3779B1, key);
+        }
+
+        // at 90% of the slots, most buckets are full and the insertions have gone through chains of kick-outs.
+        assert table.metrics().resizes() == 0;
+        assert table.size() == keys;
+        for (int key = 0; key < keys; key++)
+        {
+            assert table.get(key * 0x9E3779B1) == key;
+        }
+    }
+
+    @Test
+    public void rehashesWithANewSeedWhenTheStashOverflows() throws Exception
+    {
+        CuckooHashing<Key, Integer> table = new CuckooHashing<>(256);
+        table.setMetricsEnabled(true);
+        int threshold = table.threshold();
+
+        // distinct hash codes sharing their two buckets under the first seed: 8 fit in the buckets and 4 in the stash.
+        int[] target = buckets(table, 0);
+        List<Key> keys = new ArrayList<>();
+        for (int hash = 0; keys.size() < 13; hash++)
+        {
+            int[] b = buckets(table, hash);
+            if ((b[0] == target[0] && b[1] == target[1]) || (b[0] == target[1] && b[1] == target[0]))
+            {
+                keys.add(new Key(hash, hash));
+            }
+        }
+        for (int k = 0; k < 12; k++)
+        {
+            table.put(keys.get(k), k);
+        }
+        assert table.stashSize() == 4;
+        assert table.metrics().resizes() == 0;
+
+        table.put(keys.get(12), 12);
+
+        // the table being mostly empty, it has been rehashed in place, and the new hash functions have spread the keys.
+        assert table.metrics().resizes() == 1;
+        assert table.threshold() == threshold;
+        assert table.stashSize() < 4;
+        assert table.size() == keys.size();
+        for (int k = 0; k < keys.size(); k++)
+        {
+            assert table.get(keys.get(k)) == k;
+        }
+    }
+
+    @Test
+    public void equalHashCodesSpillPastTheStash()
+    {
+        CuckooHashing<Key, Integer> table = new CuckooHashing<>();
+
+        // no hash function separates them: beyond the two buckets, they all go to the stash, which grows.
+        int keys = 30;
+        for (int k = 0; k < keys; k++)
+        {
+            table.put(new Key(k, 42), k);
+        }
+        assert table.stashSize() >= keys - 8;
+        assert table.size() == keys;
+        for (int k = 0; k < keys; k++)
+        {
+            assert table.get(new Key(k, 42)) == k;
+        }
+        assert table.get(new Key(keys, 42)) == null;
+
+        for (int k = 0; k < keys; k += 2)
+        {
+            table.delete(new Key(k, 42));
+        }
+        assert table.size() == keys / 2;
+        for (int k = 0; k < keys; k++)
+        {
+            assert (k % 2 == 0) ? table.get(new Key(k, 42)) == null : table.get(new Key(k, 42)) == k;
+        }
+    }
+
+    @Test
+    public void deleteFromTheStash()
+    {
+        CuckooHashing<Key, Integer> table = new CuckooHashing<>();
+        for (int k = 0; k < 12; k++)
+        {
+            table.put(new Key(k, 42), k);
+        }
+        int stashed = table.stashSize();
+        assert stashed >= 4;
+
+        // the iterator lists the stash last, in its order.
+        List<Key> keys = keys(table);
+        List<Key> stash = keys.subList(keys.size() - stashed, keys.size());
+        Key first = stash.get(0);
+        Key last = stash.get(stashed - 1);
+
+        table.delete(first);
+
+        // the last key of the stash has taken the freed index.
+        assert table.stashSize() == stashed - 1;
+        List<Key> after = keys(table);
+        assert after.get(after.size() - stashed + 1).equals(last);
+        assert table.get(first) == null;
+        assert table.size() == 11;
+        for (Key key : after)
+        {
+            assert table.get(key) == key.id;
+        }
+
+        // the moved key is found, and deleted, at its new index.
+        table.delete(last);
+        assert table.get(last) == null;
+        assert table.stashSize() == stashed - 2;
+        for (Key key : keys(table))
+        {
+            assert table.get(key) == key.id;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package junit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import helper.GenericHelper;
+import multithreading.ParallelMergeSort2;
+
+public class ParallelMergeSortTest
+{
+    @Test
+    public void splitChunksUneven()
+    {
+        Integer[] source = { 5, 4, 3, 2, 1 };
+
+        // ceil(5/4) * 3 = 6 elements for the first three parts, more than the array holds.
+        Comparable[][] parts = GenericHelper.splitChunks(source, 4);
+        assert parts.length == 4;
+
+        int total = 0;
+        for (Comparable[] part : parts)
+        {
+            assert part.length == 1 || part.length == 2;
+            total += part.length;
+        }
+        assert total == source.length;
+
+        // more parts than elements: some of them are empty.
+        parts = GenericHelper.splitChunks(new Integer[] { 1, 2, 3 }, 8);
+        total = 0;
+        for (Comparable[] part : parts)
+        {
+            assert part.length <= 1;
+            total += part.length;
+        }
+        assert total == 3;
+    }
+
+    @Test
+    public void sortUnevenSizes()
+    {
+        Random random = new Random(1313);
+        int[][] cases = { { 5, 4 }, { 3, 8 }, { 1001, 7 }, { 10, 3 } };
+
+        for (int[] c : cases)
+        {
+            Integer[] array = new Integer[c[0]];
+            for (int i = 0; i < array.length; i++)
+            {
+                array[i] = random.nextInt(100);
+            }
+            Integer[] expected = array.clone();
+            Arrays.sort(expected);
+
+            ParallelMergeSort2.sort(array, c[1]);
+            assert Arrays.equals(array, expected);
+        }
+    }
+}
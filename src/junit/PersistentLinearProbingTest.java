@@ -0,0 +1,143 @@
+package junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+import structures.PersistentLinearProbing;
+
+public class PersistentLinearProbingTest
+{
+    @Test
+    public void reopen() throws IOException
+    {
+        Path file = Files.createTempDirectory("persistent").resolve("table");
+
+        try (PersistentLinearProbing table = PersistentLinearProbing.create(file))
+        {
+            // enough keys for a few resizes, each of which replaces the file.
+            for (long key = 0; key < 1000; key++)
+            {
+                table.put(key, 3 * key);
+            }
+            table.delete(7);
+        }
+
+        try (PersistentLinearProbing table = PersistentLinearProbing.open(file))
+        {
+            assert table.size() == 999;
+            assert table.contains(0);
+            assert table.get(0) == 0;
+            assert !table.contains(7);
+            for (long key = 1; key < 1000; key++)
+            {
+                assert key == 7 || table.get(key) == 3 * key;
+            }
+        }
+
+        Files.delete(file);
+    }
+
+    @Test
+    public void compact() throws IOException
+    {
+        Path file = Files.createTempDirectory("persistent").resolve("table");
+
+        try (PersistentLinearProbing table = PersistentLinearProbing.create(file))
+        {
+            for (long key = 1; key <= 10_000; key++)
+            {
+                table.put(key, key);
+            }
+            long size = Files.size(file);
+
+            // the deletions leave the file as it is.
+            for (long key = 1; key <= 9_990; key++)
+            {
+                table.delete(key);
+            }
+            assert Files.size(file) == size;
+
+            table.compact();
+            assert Files.size(file) < size / 100;
+            assert table.size() == 10;
+            for (long key = 9_991; key <= 10_000; key++)
+            {
+                assert table.get(key) == key;
+            }
+        }
+
+        try (PersistentLinearProbing table = PersistentLinearProbing.open(file))
+        {
+            assert table.size() == 10;
+            assert table.get(10_000) == 10_000;
+        }
+
+        Files.delete(file);
+    }
+
+    @Test
+    public void rejectBadHeader() throws IOException
+    {
+        // the magic, the version and the capacity are the first three longs of the header.
+        assert !opens(corrupt(0, 42L));
+        assert !opens(corrupt(8, 2L));
+        assert !opens(corrupt(16, 1L << 20));
+        assert !opens(corrupt(16, 24L));
+
+        // a file whose length does not match its capacity.
+        Path file = corrupt(-1, 0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.truncate(channel.size() - Long.BYTES);
+        }
+        assert !opens(file);
+
+        assert opens(corrupt(-1, 0));
+    }
+
+    /**
+     * @return	a new table file whose long at the given byte offset has been overwritten, unless the offset is negative.
+     */
+    private static Path corrupt(long offset, long value) throws IOException
+    {
+        Path file = Files.createTempDirectory("persistent").resolve("table");
+        try (PersistentLinearProbing table = PersistentLinearProbing.create(file))
+        {
+            table.put(1, 1);
+        }
+
+        if (offset >= 0)
+        {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+            {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putLong(0, value);
+                channel.write(buffer, offset);
+            }
+        }
+        return file;
+    }
+
+    private static boolean opens(Path file) throws IOException
+    {
+        try (PersistentLinearProbing table = PersistentLinearProbing.open(file))
+        {
+            return table.get(1) == 1;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package junit;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import structures.IntIntLinearProbing;
+import structures.LongLongLinearProbing;
+import structures.LongObjectLinearProbing;
+import structures.PrimitiveHashTable;
+
+public class PrimitiveHashTableTest
+{
+    /**
+     * The number of slots of the tables whose keys are sent to chosen slots, the smallest one which is never shrunk.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * @return the first slot probed for a key, in a table of {@link #CAPACITY} slots.
+     */
+    private static int slot(long key) throws Exception
+    {
+        Method mix = PrimitiveHashTable.class.getDeclaredMethod("mix", long.class);
+        mix.setAccessible(true);
+        return (int) (long) mix.invoke(null, key) & (CAPACITY - 1);
+    }
+
+    /**
+     * @return the first positive keys, which are also int keys, whose first slots are the given ones, in this order.
+     */
+    private static long[] keysAt(int... slots) throws Exception
+    {
+        long[] keys = new long[slots.length];
+        List<Long> used = new ArrayList<>();
+        for (int k = 0; k < slots.length; k++)
+        {
+            long key = 1;
+            while (slot(key) != slots[k] || used.contains(key))
+            {
+                key++;
+            }
+            keys[k] = key;
+            used.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void zeroKey()
+    {
+        LongLongLinearProbing longs = new LongLongLinearProbing();
+        IntIntLinearProbing ints = new IntIntLinearProbing();
+        LongObjectLinearProbing<String> objects = new LongObjectLinearProbing<>();
+
+        // the key 0 marks the empty slots: its pair is kept aside, and it is missing until put.
+        assert !longs.contains(0) && !ints.contains(0) && !objects.contains(0);
+        assert longs.getOrDefault(0, -1) == -1 && ints.getOrDefault(0, -1) == -1 && objects.get(0) == null;
+
+        longs.put(0, 5);
+        ints.put(0, 5);
+        objects.put(0, "zero");
+        longs.put(1, 6);
+        ints.put(1, 6);
+        objects.put(1, "one");
+        assert longs.size() == 2 && ints.size() == 2 && objects.size() == 2;
+        assert longs.get(0) == 5 && ints.get(0) == 5 && objects.get(0).equals("zero");
+
+        // a value of 0 is kept apart from a missing key.
+        longs.put(0, 0);
+        ints.put(0, 0);
+        assert longs.contains(0) && longs.getOrDefault(0, -1) == 0;
+        assert ints.contains(0) && ints.getOrDefault(0, -1) == 0;
+
+        int zeros = 0;
+        for (PrimitiveIterator.OfLong keys = longs.keys(); keys.hasNext();)
+        {
+            zeros += keys.nextLong() == 0 ? 1 : 0;
+        }
+        assert zeros == 1;
+
+        longs.delete(0);
+        ints.delete(0);
+        objects.delete(0);
+        assert !longs.contains(0) && !ints.contains(0) && !objects.contains(0);
+        assert longs.size() == 1 && ints.size() == 1 && objects.size() == 1;
+        assert longs.get(1) == 6 && ints.get(1) == 6 && objects.get(1).equals("one");
+    }
+
+    @Test
+    public void deleteShiftsBackAcrossTheWrapAround() throws Exception
+    {
+        // three keys of the last slot fill it and wrap around to the slots 0 and 1,
+        // pushing a key of the slot 0 to the slot 2; a key of the slot 3 stays in its own slot.
+        long[] keys = keysAt(CAPACITY - 1, CAPACITY - 1, CAPACITY - 1, 0, 3);
+
+        LongLongLinearProbing longs = new LongLongLinearProbing(CAPACITY);
+        IntIntLinearProbing ints = new IntIntLinearProbing(CAPACITY);
+        LongObjectLinearProbing<Long> objects = new LongObjectLinearProbing<>(CAPACITY);
+        for (long key : keys)
+        {
+            longs.put(key, key);
+            ints.put((int) key, (int) key);
+            objects.put(key, key);
+        }
+
+        // deleting the first key moves the next three back, across the end of the table, and leaves the last one.
+        longs.delete(keys[0]);
+        ints.delete((int) keys[0]);
+        objects.delete(keys[0]);
+        assert !longs.contains(keys[0]) && !ints.contains((int) keys[0]) && !objects.contains(keys[0]);
+        for (int k = 1; k < keys.length; k++)
+        {
+            assert longs.get(keys[k]) == keys[k];
+            assert ints.get((int) keys[k]) == keys[k];
+            assert objects.get(keys[k]) == keys[k];
+        }
+
+        // the slot emptied by the last move ends the probes, as if the deleted key had never been inserted.
+        longs.delete(keys[1]);
+        ints.delete((int) keys[1]);
+        objects.delete(keys[1]);
+        for (int k = 2; k < keys.length; k++)
+        {
+            assert longs.get(keys[k]) == keys[k];
+            assert ints.get((int) keys[k]) == keys[k];
+            assert objects.get(keys[k]) == keys[k];
+        }
+        assert longs.size() == 3 && ints.size() == 3 && objects.size() == 3;
+    }
+
+    @Test
+    public void offHeap()
+    {
+        LongLongLinearProbing longs = new LongLongLinearProbing(CAPACITY, 0.75f, true);
+        IntIntLinearProbing ints = new IntIntLinearProbing(CAPACITY, 0.75f, true);
+        LongObjectLinearProbing<Long> objects = new LongObjectLinearProbing<>(CAPACITY, 0.75f, true);
+        assert longs.isOffHeap() && ints.isOffHeap() && objects.isOffHeap();
+
+        // random operations over a few resizes, both ways, checked against a HashMap.
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 200_000; op++)
+        {
+            int key = random.nextInt(20_000) - 10_000;
+            if (random.nextInt(op < 100_000 ? 3 : 2) == 0)
+            {
+                expected.remove(key);
+                longs.delete(key);
+                ints.delete(key);
+                objects.delete(key);
+            }
+            else
+            {
+                expected.put(key, op);
+                longs.put(key, op);
+                ints.put(key, op);
+                objects.put(key, (long) op);
+            }
+        }
+
+        assert longs.size() == expected.size() && ints.size() == expected.size() && objects.size() == expected.size();
+        for (int key = -10_000; key < 10_000; key++)
+        {
+            Integer value = expected.get(key);
+            assert value == null ? !longs.contains(key) : longs.get(key) == value;
+            assert value == null ? !ints.contains(key) : ints.get(key) == value;
+            assert value == null ? objects.get(key) == null : objects.get(key) == (long) value;
+        }
+    }
+
+    @Test
+    public void shrinkAtAQuarterOfTheThreshold()
+    {
+        LongLongLinearProbing longs = new LongLongLinearProbing();
+        IntIntLinearProbing ints = new IntIntLinearProbing();
+        LongObjectLinearProbing<Long> objects = new LongObjectLinearProbing<>();
+        for (int key = 1; key <= 1000; key++)
+        {
+            longs.put(key, key);
+            ints.put(key, key);
+            objects.put(key, (long) key);
+        }
+        int threshold = longs.threshold();
+        assert ints.threshold() == threshold && objects.threshold() == threshold;
+
+        // the tables are halved by the deletion leaving a quarter of the threshold, and not before.
+        int key = 1000;
+        for (; key > threshold / 4 + 1; key--)
+        {
+            longs.delete(key);
+            ints.delete(key);
+            objects.delete(key);
+        }
+        assert longs.threshold() == threshold && ints.threshold() == threshold && objects.threshold() == threshold;
+
+        longs.delete(key);
+        ints.delete(key);
+        objects.delete(key);
+        assert longs.threshold() == threshold / 2 && ints.threshold() == threshold / 2 && objects.threshold() == threshold / 2;
+
+        // the halved table is half as loaded as its threshold, so that the next insertion does not double it again.
+        assert 2 * longs.size() <= longs.threshold();
+        longs.put(key, key);
+        ints.put(key, key);
+        objects.put(key, (long) key);
+        assert longs.threshold() == threshold / 2 && ints.threshold() == threshold / 2 && objects.threshold() == threshold / 2;
+        for (int k = 1; k <= key; k++)
+        {
+            assert longs.get(k) == k && ints.get(k) == k && objects.get(k) == k;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package junit;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import helper.GenericHelper;
+import sorting.Heap;
+import sorting.Insertion;
+import sorting.Merge;
+import sorting.Quick;
+import sorting.Shell;
+
+public class PrimitiveSortTest
+{
+    @Test
+    public void sortInts()
+    {
+        int[] original = GenericHelper.createRandomIntArray(10000, 1313);
+        int[] expected = original.clone();
+        Arrays.sort(expected);
+
+        int[] quick = original.clone();
+        Quick.sort(quick);
+        assert Arrays.equals(quick, expected);
+
+        int[] merge = original.clone();
+        Merge.sort(merge);
+        assert Arrays.equals(merge, expected);
+
+        int[] shell = original.clone();
+        Shell.sort(shell);
+        assert Arrays.equals(shell, expected);
+
+        int[] heap = original.clone();
+        Heap.sort(heap);
+        assert Arrays.equals(heap, expected);
+
+        int[] insertion = original.clone();
+        Insertion.optimizedSort(insertion);
+        assert Arrays.equals(insertion, expected);
+    }
+
+    @Test
+    public void sortLongsAndDoubles()
+    {
+        long[] longs = { 5L, -3L, Long.MAX_VALUE, 0L, Long.MIN_VALUE, 5L, 42L };
+        Quick.sort(longs);
+        assert GenericHelper.isSorted(longs);
+
+        double[] doubles = { 2.5, -1.0, 3.75, 2.5, 0.0, -7.25, 1e10 };
+        Merge.sort(doubles);
+        assert GenericHelper.isSorted(doubles);
+    }
+}
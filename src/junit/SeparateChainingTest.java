@@ -0,0 +1,119 @@
+package junit;
+
+import org.junit.Test;
+
+import structures.SeparateChaining;
+
+public class SeparateChainingTest
+{
+    /**
+     * A key whose instances all share the same hash code.
+     */
+    private static final class Colliding implements Comparable<Colliding>
+    {
+        private final int id;
+
+        Colliding(int id)
+        {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof Colliding && ((Colliding) other).id == id;
+        }
+
+        @Override
+        public int compareTo(Colliding other)
+        {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    @Test
+    public void iterateTreeifiedSlot()
+    {
+        SeparateChaining<Colliding, Integer> table = new SeparateChaining<>();
+
+        // inserted in ascending order, the keys of the slot are turned into a tree.
+        int n = 1000;
+        for (int i = 0; i < n; i++)
+        {
+            table.put(new Colliding(i), i);
+        }
+        assert table.size() == n;
+
+        boolean seen[] = new boolean[n];
+        int keys = 0;
+        for (Colliding key : table)
+        {
+            assert !seen[key.id];
+            seen[key.id] = true;
+            keys++;
+        }
+        assert keys == n;
+
+        for (int i = 0; i < n; i++)
+        {
+            assert table.get(new Colliding(i)) == i;
+        }
+    }
+
+    @Test
+    public void deleteFromTreeifiedSlot()
+    {
+        SeparateChaining<Colliding, Integer> table = new SeparateChaining<>();
+
+        int n = 100;
+        for (int i = 0; i < n; i++)
+        {
+            table.put(new Colliding(i), i);
+        }
+
+        // down to a chain again, through the deletions of the tree.
+        for (int i = 0; i < n - 3; i++)
+        {
+            table.delete(new Colliding(i));
+            assert table.get(new Colliding(i)) == null;
+            assert table.get(new Colliding(i + 1)) == i + 1;
+        }
+        assert table.size() == 3;
+
+        int keys = 0;
+        for (Colliding key : table)
+        {
+            assert key.id >= n - 3;
+            keys++;
+        }
+        assert keys == 3;
+    }
+
+    @Test
+    public void treeifiedLookupsAreLogarithmic()
+    {
+        SeparateChaining<Colliding, Integer> table = new SeparateChaining<>();
+
+        int n = 1000;
+        for (int i = 0; i < n; i++)
+        {
+            table.put(new Colliding(i), i);
+        }
+
+        table.setMetricsEnabled(true);
+        for (int i = 0; i < n; i++)
+        {
+            table.get(new Colliding(i));
+        }
+
+        // a red-black tree is at most twice as deep as a perfectly balanced one.
+        assert table.metrics().lookups() == n;
+        assert table.metrics().maxProbeLength() <= 2 * (32 - Integer.numberOfLeadingZeros(n + 1));
+    }
+}
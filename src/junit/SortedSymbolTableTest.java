@@ -50,4 +50,51 @@ public class SortedSymbolTableTest
         table.deleteMax();
         assert table.get(table.floor('Z')) == 5;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deleteLastNode()
+    {
+        ISortedSymbolTable<Integer, Integer> table = new BinarySearchTree<>();
+
+        table.put(1, 1);
+        table.delete(1);
+
+        assert table.isEmpty();
+        assert table.size() == 0;
+        assert !table.contains(1);
+
+        // the tree must still accept insertions once emptied.
+        table.put(2, 2);
+        assert table.size() == 1;
+        assert table.get(2) == 2;
+        assert table.min() == 2;
+    }
+
+    @Test
+    public void deleteWithRightChildSuccessor()
+    {
+        ISortedSymbolTable<Integer, Integer> table = new BinarySearchTree<>();
+
+        // the successor of 5 is 8, its right child, which has a right child itself.
+        table.put(5, 5);
+        table.put(3, 3);
+        table.put(8, 8);
+        table.put(9, 9);
+
+        table.delete(5);
+
+        assert table.size() == 3;
+        assert !table.contains(5);
+        assert table.get(3) == 3;
+        assert table.get(8) == 8;
+        assert table.get(9) == 9;
+        assert table.min() == 3;
+        assert table.max() == 9;
+
+        // the subtree of the successor must still be linked to the tree.
+        table.delete(8);
+        table.delete(9);
+        assert table.size() == 1;
+        assert table.max() == 3;
+    }
+}
@@ -0,0 +1,252 @@
+package junit;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import structures.SwissTable;
+
+public class SwissTableTest
+{
+    private static final int EMPTY = 0x80;
+
+    private static final int DELETED = 0xFE;
+
+    /**
+     * A key of a chosen hash code, so that the keys can be sent to the groups of a test.
+     */
+    private static final class Key
+    {
+        private final int id;
+
+        private final int hash;
+
+        Key(int id, int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+    }
+
+    /**
+     * Call a private method of the table, the SWAR helpers and the hash functions having no other access.
+     */
+    private static Object call(Object table, String name, Object... args) throws Exception
+    {
+        for (Method method : SwissTable.class.getDeclaredMethods())
+        {
+            if (method.getName().equals(name) && method.getParameterCount() == args.length)
+            {
+                method.setAccessible(true);
+                return method.invoke(table, args);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private static Object field(Object table, String name) throws Exception
+    {
+        Field field = SwissTable.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(table);
+    }
+
+    /**
+     * @return the first group probed for a hash code.
+     */
+    private static int firstGroup(SwissTable<Key, Integer> table, int hashCode) throws Exception
+    {
+        return (int) call(table, "firstGroup", call(null, "spread", hashCode));
+    }
+
+    /**
+     * @return the control byte of a slot.
+     */
+    private static int ctrl(SwissTable<Key, Integer> table, int slot) throws Exception
+    {
+        long[] ctrl = (long[]) field(table, "ctrl");
+        return (int) (ctrl[slot / 8] >>> ((slot % 8) * 8)) & 0xFF;
+    }
+
+    /**
+     * @return the control word of the given bytes, the first one being the byte of the first slot.
+     */
+    private static long word(int... bytes)
+    {
+        long word = 0;
+        for (int i = 0; i < 8; i++)
+        {
+            word |= (long) bytes[i] << (8 * i);
+        }
+        return word;
+    }
+
+    /**
+     * @return the match of the given slots: the highest bit of their bytes.
+     */
+    private static long slots(int... slots)
+    {
+        long match = 0;
+        for (int slot : slots)
+        {
+            match |= 0x80L << (8 * slot);
+        }
+        return match;
+    }
+
+    @Test
+    public void swarHelpers() throws Exception
+    {
+        long word = word(EMPTY, 0x12, DELETED, 0x12, 0x00, 0x7F, EMPTY, 0x55);
+        assert (long) call(null, "match", word, 0x12) == slots(1, 3);
+        assert (long) call(null, "match", word, 0x00) == slots(4);
+        assert (long) call(null, "match", word, 0x7F) == slots(5);
+        assert (long) call(null, "match", word, 0x33) == 0;
+        assert (long) call(null, "matchEmpty", word) == slots(0, 6);
+        assert (long) call(null, "matchEmptyOrDeleted", word) == slots(0, 2, 6);
+
+        // the only false positive of match is the byte just above a matching one, differing from it by its lowest bit.
+        long match = (long) call(null, "match", word(0x12, 0x13, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY), 0x12);
+        assert (match & ~slots(1)) == slots(0);
+
+        // every control byte, alone among fingerprints, in every slot.
+        for (int slot = 0; slot < 8; slot++)
+        {
+            for (int b = 0; b <= 0xFF; b++)
+            {
+                if (b >= 0x80 && b != EMPTY && b != DELETED)
+                {
+                    continue;
+                }
+                int[] bytes = { 0x40, 0x41, 0x42, 0x43, 0x44, 0x45, 0x46, 0x47 };
+                bytes[slot] = b;
+                long w = word(bytes);
+                assert (long) call(null, "matchEmpty", w) == (b == EMPTY ? slots(slot) : 0);
+                assert (long) call(null, "matchEmptyOrDeleted", w) == (b >= 0x80 ? slots(slot) : 0);
+                if (b < 0x80)
+                {
+                    assert ((long) call(null, "match", w, b) & slots(slot)) != 0;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void deleteEmptiesOrLeavesATombstone() throws Exception
+    {
+        // the smallest table which is never shrunk, so that the keys stay in their slots.
+        SwissTable<Key, Integer> table = new SwissTable<>(16);
+        table.setMetricsEnabled(true);
+
+        // keys of equal hash codes fill their first group, then the next group of the probe.
+        List<Key> keys = new ArrayList<>();
+        for (int k = 0; k < 9; k++)
+        {
+            keys.add(new Key(k, 42));
+            table.put(keys.get(k), k);
+        }
+        int group = firstGroup(table, 42);
+
+        // a group holding an empty slot was never probed past: its slot is emptied.
+        table.delete(keys.get(8));
+        assert table.metrics().tombstones() == 0;
+        assert (int) field(table, "deleted") == 0;
+
+        table.put(keys.get(8), 8);
+        table.delete(keys.get(0));
+        assert table.metrics().tombstones() == 1;
+        assert (int) field(table, "deleted") == 1;
+        assert ctrl(table, group * 8) == DELETED;
+
+        // the probe goes on through the tombstone to the key of the next group.
+        assert table.get(keys.get(0)) == null;
+        assert table.get(keys.get(8)) == 8;
+        assert table.size() == 8;
+    }
+
+    @Test
+    public void insertReusesTombstones() throws Exception
+    {
+        SwissTable<Key, Integer> table = new SwissTable<>(16);
+        for (int k = 0; k < 9; k++)
+        {
+            table.put(new Key(k, 42), k);
+        }
+        int group = firstGroup(table, 42);
+        table.delete(new Key(3, 42));
+        assert ctrl(table, group * 8 + 3) == DELETED;
+
+        // the first free slot of the probe is the tombstone, before the empty slots of the next group.
+        table.put(new Key(9, 42), 9);
+        assert (int) field(table, "deleted") == 0;
+        assert ctrl(table, group * 8 + 3) != DELETED && ctrl(table, group * 8 + 3) != EMPTY;
+        assert table.size() == 9;
+        for (int k = 0; k < 10; k++)
+        {
+            assert k == 3 ? table.get(new Key(k, 42)) == null : table.get(new Key(k, 42)) == k;
+        }
+    }
+
+    @Test
+    public void tombstonesAreDroppedByARehashInPlace() throws Exception
+    {
+        SwissTable<Key, Integer> table = new SwissTable<>(64);
+        table.setMetricsEnabled(true);
+        int threshold = table.threshold();
+
+        // 48 keys of equal hash codes fill 6 of the 8 groups, then 30 of them are deleted, each leaving a tombstone.
+        for (int k = 0; k < 48; k++)
+        {
+            table.put(new Key(k, 42), k);
+        }
+        for (int k = 0; k < 30; k++)
+        {
+            table.delete(new Key(k, 42));
+        }
+        assert (int) field(table, "deleted") == 30;
+        assert table.metrics().resizes() == 0;
+
+        // other keys go to the groups left empty, until the keys and the tombstones reach the threshold.
+        int hash = 0;
+        while (firstGroup(table, hash) == firstGroup(table, 42) || ctrl(table, firstGroup(table, hash) * 8) != EMPTY)
+        {
+            hash++;
+        }
+        int k = 48;
+        while (table.metrics().resizes() == 0)
+        {
+            table.put(new Key(k, hash), k);
+            k++;
+        }
+
+        // the keys being less than half the threshold, the rehash has kept the capacity and dropped the tombstones.
+        assert table.threshold() == threshold;
+        assert (int) field(table, "deleted") == 0;
+        assert table.size() == 18 + (k - 48);
+        assert table.size() < threshold / 2;
+        for (int key = 30; key < 48; key++)
+        {
+            assert table.get(new Key(key, 42)) == key;
+        }
+        for (int key = 48; key < k; key++)
+        {
+            assert table.get(new Key(key, hash)) == key;
+        }
+        assert table.get(new Key(0, 42)) == null;
+    }
+}
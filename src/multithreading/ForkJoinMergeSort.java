@@ -0,0 +1,222 @@
+package multithreading;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import sorting.Merge;
+
+/**
+ * A parallel top-down merge sort built on the fork/join framework.</br></br>
+ *
+ * Unlike {@link ParallelMergeSort1} which starts new threads at each level, the splits are submitted as tasks
+ * to a shared {@link ForkJoinPool} whose idle workers steal the pending halves.
+ * The array is divided into a few tasks per thread chosen by the {@link ThreadHelper#policy() parallelism policy}.
+ * The whole sort works over one auxiliary buffer: each level alternates the roles of the array and the buffer
+ * so that no copy is needed between two merges.</br>
+ * The merge itself is parallel too: the larger run is split at its middle and the matching split point of the other run
+ * is found by binary search, so the two halves of the output can be merged independently.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class ForkJoinMergeSort {
+
+	/**
+	 * Below this size a sub-array is sorted sequentially by {@link Merge}.
+	 */
+	private static final int SORT_THRESHOLD = 1 << 13;
+
+	/**
+	 * The number of tasks per thread the array is divided into, so that work stealing can even out the load.
+	 */
+	private static final int TASKS_PER_THREAD = 4;
+
+	/**
+	 * Below this size two runs are merged sequentially.
+	 */
+	private static final int MERGE_THRESHOLD = 1 << 13;
+
+	private ForkJoinMergeSort() {
+		super();
+	}
+
+	/**
+	 * Sort the given array on the pool shared by {@link ThreadHelper#pool()}.
+	 * @param array	the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array) {
+		sort(array, ThreadHelper.pool());
+	}
+
+	/**
+	 * Sort the given array on the given pool.
+	 * @param array	the array to sort of.
+	 * @param pool	the pool running the tasks.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, ForkJoinPool pool) {
+
+		T[] aux = (T[]) new Comparable[array.length];
+
+		// the policy decides how many pieces are worth running concurrently for this size.
+		int threads = Math.min(ThreadHelper.threads(array.length), pool.getParallelism());
+		int threshold = Math.max(SORT_THRESHOLD, array.length / (threads * TASKS_PER_THREAD));
+
+		if(threads <= 1 || array.length <= threshold) {
+			Merge.sort(array, aux, 0, array.length - 1);
+			return;
+		}
+
+		pool.invoke(new Sorter<>(array, aux, 0, array.length, false, threshold));
+	}
+
+	/**
+	 * Sort array[from .. to-1] and leave the result either in the array or in the auxiliary buffer.
+	 */
+	private static final class Sorter<T extends Comparable<? super T>> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final T[] array, aux;
+
+		private final int from, to;
+
+		/**
+		 * Whether the sorted elements must end up in the auxiliary buffer.
+		 */
+		private final boolean intoAux;
+
+		/**
+		 * Below this size the sub-array is sorted sequentially.
+		 */
+		private final int threshold;
+
+		private Sorter(T[] array, T[] aux, int from, int to, boolean intoAux, int threshold) {
+			this.array = array;
+			this.aux = aux;
+			this.from = from;
+			this.to = to;
+			this.intoAux = intoAux;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+
+			int size = to - from;
+
+			if(size <= threshold) {
+				// aux[from .. to-1] is not used by anyone else at this point.
+				Merge.sort(array, aux, from, to - 1);
+				if(intoAux) {
+					System.arraycopy(array, from, aux, from, size);
+				}
+				return;
+			}
+
+			// Both halves are sorted into the opposite storage then merged back to the expected one.
+			int middle = (from + to) >>> 1;
+			invokeAll(new Sorter<>(array, aux, from, middle, !intoAux, threshold), new Sorter<>(array, aux, middle, to, !intoAux, threshold));
+
+			T[] source = intoAux ? array : aux;
+			T[] destination = intoAux ? aux : array;
+			new Merger<>(source, destination, from, middle, middle, to, from).compute();
+		}
+	}
+
+	/**
+	 * Merge source[leftFrom .. leftTo-1] and source[rightFrom .. rightTo-1] into destination from destinationFrom.
+	 */
+	private static final class Merger<T extends Comparable<? super T>> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final T[] source, destination;
+
+		private final int leftFrom, leftTo, rightFrom, rightTo, destinationFrom;
+
+		private Merger(T[] source, T[] destination, int leftFrom, int leftTo, int rightFrom, int rightTo, int destinationFrom) {
+			this.source = source;
+			this.destination = destination;
+			this.leftFrom = leftFrom;
+			this.leftTo = leftTo;
+			this.rightFrom = rightFrom;
+			this.rightTo = rightTo;
+			this.destinationFrom = destinationFrom;
+		}
+
+		@Override
+		protected void compute() {
+
+			int leftSize = leftTo - leftFrom;
+			int rightSize = rightTo - rightFrom;
+
+			if(leftSize + rightSize <= MERGE_THRESHOLD) {
+				merge();
+				return;
+			}
+
+			// Splitting the larger run at its middle, equal elements of the left run stay in front to keep the sort stable.
+			int leftMiddle, rightMiddle;
+			if(leftSize >= rightSize) {
+				leftMiddle = (leftFrom + leftTo) >>> 1;
+				rightMiddle = lowerBound(source, rightFrom, rightTo, source[leftMiddle]);
+			}else {
+				rightMiddle = (rightFrom + rightTo) >>> 1;
+				leftMiddle = upperBound(source, leftFrom, leftTo, source[rightMiddle]);
+			}
+
+			int destinationMiddle = destinationFrom + (leftMiddle - leftFrom) + (rightMiddle - rightFrom);
+			invokeAll(new Merger<>(source, destination, leftFrom, leftMiddle, rightFrom, rightMiddle, destinationFrom),
+					new Merger<>(source, destination, leftMiddle, leftTo, rightMiddle, rightTo, destinationMiddle));
+		}
+
+		/**
+		 * The sequential merge.
+		 */
+		private void merge() {
+			int i = leftFrom, j = rightFrom, k = destinationFrom;
+
+			while(i < leftTo && j < rightTo) {
+				if(source[j].compareTo(source[i]) < 0) {
+					destination[k++] = source[j++];
+				}else {
+					destination[k++] = source[i++];
+				}
+			}
+
+			// Only one of the two copies below actually copies something.
+			System.arraycopy(source, i, destination, k, leftTo - i);
+			System.arraycopy(source, j, destination, k + (leftTo - i), rightTo - j);
+		}
+	}
+
+	/**
+	 * @return	the index of the first element of a[from .. to-1] which is not smaller than the key.
+	 */
+	private static <T extends Comparable<? super T>> int lowerBound(T[] a, int from, int to, T key) {
+		while(from < to) {
+			int middle = (from + to) >>> 1;
+			if(a[middle].compareTo(key) < 0) {
+				from = middle + 1;
+			}else {
+				to = middle;
+			}
+		}
+		return from;
+	}
+
+	/**
+	 * @return	the index of the first element of a[from .. to-1] which is greater than the key.
+	 */
+	private static <T extends Comparable<? super T>> int upperBound(T[] a, int from, int to, T key) {
+		while(from < to) {
+			int middle = (from + to) >>> 1;
+			if(a[middle].compareTo(key) <= 0) {
+				from = middle + 1;
+			}else {
+				to = middle;
+			}
+		}
+		return from;
+	}
+}
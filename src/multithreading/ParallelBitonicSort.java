@@ -0,0 +1,195 @@
+package multithreading;
+
+import java.util.concurrent.RecursiveAction;
+
+import sorting.Quick;
+import sorting.SortingNetwork;
+
+/**
+ * A parallel bitonic sort of an array whose length is a power of two, on the pool shared by {@link ThreadHelper#pool()}.</br></br>
+ *
+ * Like the {@link SortingNetwork networks}, a bitonic sort is made of compare-exchanges which do not depend on the data:
+ * the two halves are sorted in opposite directions, then the resulting bitonic sequence is merged by comparing
+ * each element of the first half with the one n/2 further, which leaves two bitonic halves to be merged the same way.
+ * All the compare-exchanges of a step are independent, so each step is split between the threads without any synchronization.
+ * The blocks small enough to fit in the cache are sorted sequentially by {@link Quick}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Bitonic_sorter">Bitonic sorter</a>
+ * @author Njoyim Peguy
+ *
+ */
+public final class ParallelBitonicSort {
+
+	/**
+	 * Up to this size, a block is sorted sequentially.
+	 */
+	private static final int SORT_THRESHOLD = 1 << 14;
+
+	/**
+	 * Up to this size, a bitonic sequence is merged sequentially.
+	 */
+	private static final int MERGE_THRESHOLD = 1 << 14;
+
+	private ParallelBitonicSort() {
+		super();
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of, whose length must be a power of two.
+	 */
+	public static void sort(int[] array) {
+		int n = array.length;
+		if(Integer.bitCount(n) > 1) {
+			throw new IllegalArgumentException("The length must be a power of two: " + n);
+		}
+
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n <= SORT_THRESHOLD) {
+			Quick.sort(array);
+			return;
+		}
+
+		ThreadHelper.pool().invoke(new Sorter(array, 0, n, true));
+	}
+
+	/**
+	 * Sort a[from .. from+n-1] in the given direction.
+	 */
+	private static final class Sorter extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] a;
+
+		private final int from, n;
+
+		private final boolean ascending;
+
+		private Sorter(int[] a, int from, int n, boolean ascending) {
+			this.a = a;
+			this.from = from;
+			this.n = n;
+			this.ascending = ascending;
+		}
+
+		@Override
+		protected void compute() {
+			if(n <= SORT_THRESHOLD) {
+				Quick.sort(a, from, from + n - 1);
+				if(!ascending) {
+					reverse(a, from, from + n - 1);
+				}
+				return;
+			}
+
+			int half = n >>> 1;
+			invokeAll(new Sorter(a, from, half, true), new Sorter(a, from + half, half, false));
+			new Merger(a, from, n, ascending).compute();
+		}
+	}
+
+	/**
+	 * Sort the bitonic sequence a[from .. from+n-1] in the given direction.
+	 */
+	private static final class Merger extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] a;
+
+		private final int from, n;
+
+		private final boolean ascending;
+
+		private Merger(int[] a, int from, int n, boolean ascending) {
+			this.a = a;
+			this.from = from;
+			this.n = n;
+			this.ascending = ascending;
+		}
+
+		@Override
+		protected void compute() {
+			if(n <= MERGE_THRESHOLD) {
+				merge(a, from, n, ascending);
+				return;
+			}
+
+			int half = n >>> 1;
+			new Exchanger(a, from, from + half, half, ascending).compute();
+			invokeAll(new Merger(a, from, half, ascending), new Merger(a, from + half, half, ascending));
+		}
+	}
+
+	/**
+	 * Compare-exchange a[i] and a[i+distance] for every i of [from, to).
+	 */
+	private static final class Exchanger extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] a;
+
+		private final int from, to, distance;
+
+		private final boolean ascending;
+
+		private Exchanger(int[] a, int from, int to, int distance, boolean ascending) {
+			this.a = a;
+			this.from = from;
+			this.to = to;
+			this.distance = distance;
+			this.ascending = ascending;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= MERGE_THRESHOLD) {
+				exchange(a, from, to, distance, ascending);
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new Exchanger(a, from, middle, distance, ascending), new Exchanger(a, middle, to, distance, ascending));
+		}
+	}
+
+	/**
+	 * The sequential bitonic merge of a[from .. from+n-1].
+	 */
+	private static void merge(int[] a, int from, int n, boolean ascending) {
+		for(int distance = n >>> 1; distance > 0; distance >>>= 1) {
+			for(int block = from; block < from + n; block += 2 * distance) {
+				exchange(a, block, block + distance, distance, ascending);
+			}
+		}
+	}
+
+	/**
+	 * Compare-exchange a[i] and a[i+distance] for every i of [from, to) without branching.
+	 */
+	private static void exchange(int[] a, int from, int to, int distance, boolean ascending) {
+		if(ascending) {
+			for(int i = from; i < to; i++) {
+				int x = a[i], y = a[i + distance];
+				a[i] = Math.min(x, y);
+				a[i + distance] = Math.max(x, y);
+			}
+		}else {
+			for(int i = from; i < to; i++) {
+				int x = a[i], y = a[i + distance];
+				a[i] = Math.max(x, y);
+				a[i + distance] = Math.min(x, y);
+			}
+		}
+	}
+
+	private static void reverse(int[] a, int from, int to) {
+		for(; from < to; from++, to--) {
+			int temp = a[from];
+			a[from] = a[to];
+			a[to] = temp;
+		}
+	}
+}
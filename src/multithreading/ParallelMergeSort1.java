@@ -44,6 +44,23 @@ public final class ParallelMergeSort1<T extends Comparable<? super T>> implement
 		return sort;
 	}
 
+	/**
+	 * Sort the given array with the number of threads chosen by the {@link ThreadHelper#policy() parallelism policy}.
+	 * @param array		the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array) {
+		sort(array, ThreadHelper.threads(array.length));
+	}
+
+	/**
+	 * Sort the given array by splitting it between the given number of threads, whatever the parallelism policy.
+	 * @param array		the array to sort of.
+	 * @param threads	the number of threads.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, int threads) {
+		newInstance(array, 0, array.length - 1, threads).run();
+	}
+
 	@Override
 	public void run() {
 		parallelTopDownSplit(originalArray, from, to, nbThreads);
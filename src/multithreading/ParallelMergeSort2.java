@@ -1,6 +1,8 @@
 package multithreading;
 
 import java.util.concurrent.CountDownLatch;
+
+import helper.GenericHelper;
 import sorting.Insertion;
 
 public final class ParallelMergeSort2<T extends Comparable<? super T>> extends Thread {
@@ -48,6 +50,46 @@ public final class ParallelMergeSort2<T extends Comparable<? super T>> extends T
 		return thread;
 	}
 
+	/**
+	 * Sort the given array with the number of threads chosen by the {@link ThreadHelper#policy() parallelism policy}.
+	 * @param originalArray		the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] originalArray) {
+		sort(originalArray, ThreadHelper.threads(originalArray.length));
+	}
+
+	/**
+	 * Sort the given array: each thread sorts one chunk then the sorted chunks are merged back into the array.
+	 * The number of threads is the given one, whatever the parallelism policy.
+	 * @param originalArray		the array to sort of.
+	 * @param nbThreads			the number of threads, i.e. the number of chunks.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] originalArray, int nbThreads) {
+
+		T[][] arrays = GenericHelper.splitChunks(originalArray, nbThreads);
+
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch doneSignal = new CountDownLatch(nbThreads);
+
+		ParallelMergeSort2<T>[] threads = new ParallelMergeSort2[nbThreads];
+		for(int k = 0; k < nbThreads; k++) {
+			threads[k] = new ParallelMergeSort2<>(arrays[k], startSignal, doneSignal);
+			threads[k].start();
+		}
+
+		// informing all threads to start sorting at the same time...
+		startSignal.countDown();
+
+		try {
+			doneSignal.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		GenericHelper.parallelKWayMerge(originalArray, nbThreads, arrays);
+	}
+
 	@Override
 	public void run() {
 		try {
@@ -18,7 +18,7 @@ public class ParallelMergeSortTester {
 		Comparable[] originalArray = GenericHelper.createRandomArray(10000000);
 
 		// Taking the number of threads
-		int nbThreads = ThreadHelper.threads();
+		int nbThreads = ThreadHelper.threads(originalArray.length);
 
 		// A pool of threads for processing the results.
 		ParallelMergeSort2[] threads = new ParallelMergeSort2[nbThreads];
@@ -68,11 +68,11 @@ public class ParallelMergeSortTester {
 			e.printStackTrace();
 		}
 
-		// merging all sorted array...
+		// merging all sorted array back into the original one...
 		for(int i = 0; i < threads.length; i++) {
 			arrays[i] = threads[i].storage();
 		}
-		originalArray = GenericHelper.mergeArrays(arrays);
+		GenericHelper.parallelKWayMerge(originalArray, nbThreads, arrays);
 
 		// stopping time...
 		long endTime = nanoTime();
@@ -95,6 +95,32 @@ public class ParallelMergeSortTester {
 		return;
 	}
 
+	/**
+	 * Processing the fork/join merge sort on the same kind of input as {@link #process()}.
+	 */
+	public static void processForkJoin() {
+
+		// Creating a random array
+		Comparable[] originalArray = GenericHelper.createRandomArray(10000000);
+
+		// starting time...
+		long startTime = nanoTime();
+
+		ForkJoinMergeSort.sort(originalArray);
+
+		// stopping time...
+		long endTime = nanoTime();
+
+		if(GenericHelper.isSorted(originalArray)) {
+			System.out.println("the array is fully sorted!!");
+		}else {
+			System.out.println("the array is not sorted!!");
+		}
+
+		System.out.println("Execution Time: " + (double) (endTime - startTime)/1000000000.0 + " seconds");
+		return;
+	}
+
 	/**
 	 * Split an array into n parts.
 	 * @param source	the original array.
@@ -0,0 +1,251 @@
+package multithreading;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+import sorting.Radix;
+
+/**
+ * A parallel version of the {@link Radix} sorts on the pool shared by {@link ThreadHelper#pool()}.</br></br>
+ *
+ * The array is cut into one chunk per thread. For each digit, every thread counts the digits of its own chunk;
+ * the histograms are then combined so that each thread knows where to write each of its keys,
+ * i.e. after the keys of the same digit of the previous chunks. The threads thus scatter their chunks concurrently
+ * without any synchronization, and the sort stays stable.</br>
+ * The strings are distributed in parallel on their first char, then the buckets are sorted concurrently by {@link Radix}.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class ParallelRadixSort {
+
+	/**
+	 * Below this size, an array is sorted sequentially.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	private ParallelRadixSort() {
+		super();
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		int n = array.length;
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n < PARALLEL_THRESHOLD) {
+			Radix.sort(array);
+			return;
+		}
+
+		int[][] count = new int[threads][Radix.RADIX];
+		int[] source = array, destination = new int[n];
+
+		for(int d = 0; d < Integer.BYTES; d++) {
+			final int digit = d;
+			final int[] from = source, to = destination;
+
+			ThreadHelper.forEach(threads, t -> {
+				int[] c = count[t];
+				Arrays.fill(c, 0);
+				for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+					c[Radix.digit(from[i], digit)]++;
+				}
+			});
+
+			if(!offsets(count, n)) {
+				continue;
+			}
+
+			ThreadHelper.forEach(threads, t -> {
+				int[] offset = count[t];
+				for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+					int x = from[i];
+					to[offset[Radix.digit(x, digit)]++] = x;
+				}
+			});
+
+			source = to;
+			destination = from;
+		}
+
+		if(source != array) {
+			System.arraycopy(source, 0, array, 0, n);
+		}
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(long[] array) {
+		int n = array.length;
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n < PARALLEL_THRESHOLD) {
+			Radix.sort(array);
+			return;
+		}
+
+		int[][] count = new int[threads][Radix.RADIX];
+		long[] source = array, destination = new long[n];
+
+		for(int d = 0; d < Long.BYTES; d++) {
+			final int digit = d;
+			final long[] from = source, to = destination;
+
+			ThreadHelper.forEach(threads, t -> {
+				int[] c = count[t];
+				Arrays.fill(c, 0);
+				for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+					c[Radix.digit(from[i], digit)]++;
+				}
+			});
+
+			if(!offsets(count, n)) {
+				continue;
+			}
+
+			ThreadHelper.forEach(threads, t -> {
+				int[] offset = count[t];
+				for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+					long x = from[i];
+					to[offset[Radix.digit(x, digit)]++] = x;
+				}
+			});
+
+			source = to;
+			destination = from;
+		}
+
+		if(source != array) {
+			System.arraycopy(source, 0, array, 0, n);
+		}
+	}
+
+	/**
+	 * Sort the given array of strings in the order of {@link String#compareTo(String)}.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(String[] array) {
+		int n = array.length;
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n < PARALLEL_THRESHOLD) {
+			Radix.sort(array);
+			return;
+		}
+
+		// The first char is distributed like a digit, the empty strings going first.
+		int buckets = Character.MAX_VALUE + 2;
+		int[][] count = new int[threads][buckets];
+		String[] aux = new String[n];
+
+		ThreadHelper.forEach(threads, t -> {
+			int[] c = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				c[firstChar(array[i])]++;
+			}
+		});
+
+		int[] bucketStart = new int[buckets + 1];
+		for(int v = 0, sum = 0; v < buckets; v++) {
+			bucketStart[v] = sum;
+			for(int t = 0; t < threads; t++) {
+				int c = count[t][v];
+				count[t][v] = sum;
+				sum += c;
+			}
+		}
+		bucketStart[buckets] = n;
+
+		ThreadHelper.forEach(threads, t -> {
+			int[] offset = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				String s = array[i];
+				aux[offset[firstChar(s)]++] = s;
+			}
+		});
+
+		System.arraycopy(aux, 0, array, 0, n);
+
+		// Every bucket but the empty strings is sorted as a whole, the pool balancing the uneven buckets.
+		ThreadHelper.pool().invoke(new Buckets(array, bucketStart, 1, buckets));
+	}
+
+	/**
+	 * Turn the per-chunk histograms of a digit into the index where each chunk writes its first key of each digit.
+	 * @param count	count[t][v], the number of keys of the chunk t whose digit is v.
+	 * @param n		the number of keys.
+	 * @return		false if all the keys have the same digit, so that the pass can be skipped.
+	 */
+	private static boolean offsets(int[][] count, int n) {
+		for(int v = 0, sum = 0; v < Radix.RADIX; v++) {
+			int total = 0;
+			for(int[] c : count) {
+				total += c[v];
+			}
+			if(total == n) {
+				return false;
+			}
+			for(int[] c : count) {
+				int k = c[v];
+				c[v] = sum;
+				sum += k;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return	the index of the first element of the chunk t when n elements are cut into the given number of chunks.
+	 */
+	private static int start(int n, int chunks, int t) {
+		return (int) ((long) n * t / chunks);
+	}
+
+	/**
+	 * @return	the bucket of a string by its first char, 0 being the bucket of the empty string.
+	 */
+	private static int firstChar(String s) {
+		return s.isEmpty() ? 0 : s.charAt(0) + 1;
+	}
+
+	/**
+	 * Sort the buckets from .. to-1 of strings, the bucket v being array[bucketStart[v] .. bucketStart[v+1]-1].
+	 */
+	private static final class Buckets extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Below this number of strings, the buckets are sorted one after the other.
+		 */
+		private static final int BUCKETS_THRESHOLD = 1 << 12;
+
+		private final String[] array;
+
+		private final int[] bucketStart;
+
+		private final int from, to;
+
+		private Buckets(String[] array, int[] bucketStart, int from, int to) {
+			this.array = array;
+			this.bucketStart = bucketStart;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from == 1 || bucketStart[to] - bucketStart[from] <= BUCKETS_THRESHOLD) {
+				for(int v = from; v < to; v++) {
+					Radix.sort(array, bucketStart[v], bucketStart[v + 1] - 1);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Buckets(array, bucketStart, from, middle), new Buckets(array, bucketStart, middle, to));
+		}
+	}
+}
@@ -0,0 +1,267 @@
+package multithreading;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import sorting.Quick;
+
+/**
+ * A parallel sample sort on the pool shared by {@link ThreadHelper#pool()}.</br></br>
+ *
+ * Unlike {@link ParallelMergeSort2} which cuts the array by position and must merge the sorted parts at the end,
+ * a sample sort cuts it by value:
+ * <ol>
+ * <li>a random sample of the array is sorted and a few evenly spaced elements of it are kept as splitters;</li>
+ * <li>each thread classifies the elements of its chunk by binary search among the splitters,
+ * remembering the bucket of each element in one byte and counting the size of each bucket in its chunk;</li>
+ * <li>the counts give every thread the place of its elements in each bucket, so that all the threads
+ * scatter their chunks at once without any synchronization;</li>
+ * <li>the buckets are independent, hence sorted concurrently by {@link Quick}, and the array is sorted without a final merge.</li>
+ * </ol>
+ * An element equal to a splitter goes to a bucket of its own which needs no sort, so that many duplicates do not
+ * end up in one huge bucket.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class ParallelSampleSort {
+
+	/**
+	 * Below this size, an array is sorted sequentially.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The number of buckets to be sorted per thread, so that work stealing can even out their sizes.
+	 */
+	private static final int BUCKETS_PER_THREAD = 4;
+
+	/**
+	 * The maximum number of splitters: with the buckets of equal elements there are 2 * 127 + 1 = 255 buckets,
+	 * so that the bucket of an element fits in a byte.
+	 */
+	private static final int MAX_SPLITTERS = 127;
+
+	/**
+	 * The number of sampled elements per bucket: the more, the more even the buckets.
+	 */
+	private static final int OVERSAMPLING = 16;
+
+	private ParallelSampleSort() {
+		super();
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array) {
+		int n = array.length;
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n < PARALLEL_THRESHOLD) {
+			Quick.sort(array);
+			return;
+		}
+
+		T[] splitters = splitters(array, threads);
+		int buckets = 2 * splitters.length + 1;
+
+		// the bucket of every element, then the number of elements of each bucket in each chunk.
+		byte[] oracle = new byte[n];
+		int[][] count = new int[threads][buckets];
+
+		ThreadHelper.forEach(threads, t -> {
+			int[] c = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				int b = classify(array[i], splitters);
+				oracle[i] = (byte) b;
+				c[b]++;
+			}
+		});
+
+		int[] bucketStart = offsets(count, buckets, n);
+
+		T[] aux = (T[]) new Comparable[n];
+		ThreadHelper.forEach(threads, t -> {
+			int[] offset = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				aux[offset[oracle[i] & 0xFF]++] = array[i];
+			}
+		});
+
+		ThreadHelper.forEach(buckets, b -> {
+			int from = bucketStart[b], to = bucketStart[b + 1];
+			System.arraycopy(aux, from, array, from, to - from);
+			// the odd buckets hold the elements equal to a splitter.
+			if((b & 1) == 0 && to - from > 1) {
+				Quick.sort(array, from, to - 1);
+			}
+		});
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		int n = array.length;
+		int threads = Math.min(ThreadHelper.threads(n), ThreadHelper.pool().getParallelism());
+		if(threads <= 1 || n < PARALLEL_THRESHOLD) {
+			Quick.sort(array);
+			return;
+		}
+
+		int[] splitters = splitters(array, threads);
+		int buckets = 2 * splitters.length + 1;
+
+		byte[] oracle = new byte[n];
+		int[][] count = new int[threads][buckets];
+
+		ThreadHelper.forEach(threads, t -> {
+			int[] c = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				int b = classify(array[i], splitters);
+				oracle[i] = (byte) b;
+				c[b]++;
+			}
+		});
+
+		int[] bucketStart = offsets(count, buckets, n);
+
+		int[] aux = new int[n];
+		ThreadHelper.forEach(threads, t -> {
+			int[] offset = count[t];
+			for(int i = start(n, threads, t), end = start(n, threads, t + 1); i < end; i++) {
+				aux[offset[oracle[i] & 0xFF]++] = array[i];
+			}
+		});
+
+		ThreadHelper.forEach(buckets, b -> {
+			int from = bucketStart[b], to = bucketStart[b + 1];
+			System.arraycopy(aux, from, array, from, to - from);
+			if((b & 1) == 0 && to - from > 1) {
+				Quick.sort(array, from, to - 1);
+			}
+		});
+	}
+
+	/**
+	 * @return	the number of splitters worth cutting an array into, for the given number of threads.
+	 */
+	private static int numberOfSplitters(int threads) {
+		return Math.min(MAX_SPLITTERS, threads * BUCKETS_PER_THREAD - 1);
+	}
+
+	/**
+	 * Pick the distinct splitters out of a sorted random sample of the array.
+	 * @return	the splitters in increasing order.
+	 */
+	private static <T extends Comparable<? super T>> T[] splitters(T[] array, int threads) {
+		int m = numberOfSplitters(threads);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		T[] sample = (T[]) new Comparable[(m + 1) * OVERSAMPLING];
+		for(int i = 0; i < sample.length; i++) {
+			sample[i] = array[random.nextInt(array.length)];
+		}
+		Quick.sort(sample);
+
+		T[] splitters = (T[]) new Comparable[m];
+		int size = 0;
+		for(int i = 1; i <= m; i++) {
+			T candidate = sample[i * OVERSAMPLING - 1];
+			if(size == 0 || splitters[size - 1].compareTo(candidate) < 0) {
+				splitters[size++] = candidate;
+			}
+		}
+
+		T[] distinct = (T[]) new Comparable[size];
+		System.arraycopy(splitters, 0, distinct, 0, size);
+		return distinct;
+	}
+
+	/**
+	 * Pick the distinct splitters out of a sorted random sample of the array.
+	 * @return	the splitters in increasing order.
+	 */
+	private static int[] splitters(int[] array, int threads) {
+		int m = numberOfSplitters(threads);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		int[] sample = new int[(m + 1) * OVERSAMPLING];
+		for(int i = 0; i < sample.length; i++) {
+			sample[i] = array[random.nextInt(array.length)];
+		}
+		Quick.sort(sample);
+
+		int[] splitters = new int[m];
+		int size = 0;
+		for(int i = 1; i <= m; i++) {
+			int candidate = sample[i * OVERSAMPLING - 1];
+			if(size == 0 || splitters[size - 1] < candidate) {
+				splitters[size++] = candidate;
+			}
+		}
+
+		int[] distinct = new int[size];
+		System.arraycopy(splitters, 0, distinct, 0, size);
+		return distinct;
+	}
+
+	/**
+	 * @return	2i if the splitters s[i-1] < key < s[i], or 2i+1 if key is equal to s[i].
+	 */
+	private static <T extends Comparable<? super T>> int classify(T key, T[] splitters) {
+		int from = 0, to = splitters.length;
+		while(from < to) {
+			int middle = (from + to) >>> 1;
+			if(splitters[middle].compareTo(key) < 0) {
+				from = middle + 1;
+			}else {
+				to = middle;
+			}
+		}
+		return (from < splitters.length && splitters[from].compareTo(key) == 0) ? 2 * from + 1 : 2 * from;
+	}
+
+	/**
+	 * @return	2i if the splitters s[i-1] < key < s[i], or 2i+1 if key is equal to s[i].
+	 */
+	private static int classify(int key, int[] splitters) {
+		int from = 0, to = splitters.length;
+		while(from < to) {
+			int middle = (from + to) >>> 1;
+			if(splitters[middle] < key) {
+				from = middle + 1;
+			}else {
+				to = middle;
+			}
+		}
+		return (from < splitters.length && splitters[from] == key) ? 2 * from + 1 : 2 * from;
+	}
+
+	/**
+	 * Turn the per-chunk bucket sizes into the index where each chunk writes its first element of each bucket.
+	 * @param count		count[t][b], the number of elements of the chunk t in the bucket b.
+	 * @return			the index of the first element of each bucket, followed by n.
+	 */
+	private static int[] offsets(int[][] count, int buckets, int n) {
+		int[] bucketStart = new int[buckets + 1];
+		for(int b = 0, sum = 0; b < buckets; b++) {
+			bucketStart[b] = sum;
+			for(int[] c : count) {
+				int k = c[b];
+				c[b] = sum;
+				sum += k;
+			}
+		}
+		bucketStart[buckets] = n;
+		return bucketStart;
+	}
+
+	/**
+	 * @return	the index of the first element of the chunk t when n elements are cut into the given number of chunks.
+	 */
+	private static int start(int n, int chunks, int t) {
+		return (int) ((long) n * t / chunks);
+	}
+}
@@ -0,0 +1,124 @@
+package multithreading;
+
+import java.util.function.IntConsumer;
+
+import interfaces.IParallelismPolicy;
+
+/**
+ * The usual ways of choosing how many threads a parallel algorithm should use.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class ParallelismPolicy {
+
+	/**
+	 * The default minimal amount of work per thread of the adaptive policy: below 100 microseconds,
+	 * handing out a task to another thread costs about as much as doing it.
+	 */
+	public static final long DEFAULT_MIN_TASK_NANOS = 100_000L;
+
+	private ParallelismPolicy() {
+		super();
+	}
+
+	/**
+	 * @param threads	the number of threads.
+	 * @return			a policy which always answers the given number of threads.
+	 */
+	public static IParallelismPolicy fixed(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Illegal number of threads: " + threads);
+		}
+		return inputSize -> threads;
+	}
+
+	/**
+	 * @return	a policy which answers the number of processors available to the JVM.
+	 */
+	public static IParallelismPolicy availableProcessors() {
+		return inputSize -> Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * @param key		the name of the system property, e.g. {@code -Dalgorithms.threads=8}.
+	 * @param fallback	the policy used when the property is missing or not a positive integer.
+	 * @return			a policy which reads the number of threads from a system property.
+	 */
+	public static IParallelismPolicy systemProperty(String key, IParallelismPolicy fallback) {
+		return inputSize -> {
+			Integer threads = Integer.getInteger(key);
+			return (threads != null && threads > 0) ? threads : fallback.threads(inputSize);
+		};
+	}
+
+	/**
+	 * Asks once the number of threads on the standard input, see {@link ThreadHelper#threads()}.
+	 * @return	a policy which answers the number of threads entered by the user.
+	 */
+	public static IParallelismPolicy interactive() {
+		return new IParallelismPolicy() {
+
+			private int threads;
+
+			@Override
+			public synchronized int threads(long inputSize) {
+				if(threads < 1) {
+					threads = Math.max(1, ThreadHelper.threads());
+				}
+				return threads;
+			}
+		};
+	}
+
+	/**
+	 * See {@link #adaptive(double, long) adaptive} with the default minimal amount of work per thread.
+	 */
+	public static IParallelismPolicy adaptive(double nanosPerElement) {
+		return adaptive(nanosPerElement, DEFAULT_MIN_TASK_NANOS);
+	}
+
+	/**
+	 * Give each thread at least minTaskNanos of work, without exceeding the number of processors:
+	 * small inputs run on a single thread whereas huge inputs use the whole machine.
+	 * @param nanosPerElement	the sequential cost of one element, see {@link #measure(IntConsumer, int) measure}.
+	 * @param minTaskNanos		the minimal amount of work per thread.
+	 * @return					an adaptive policy.
+	 */
+	public static IParallelismPolicy adaptive(double nanosPerElement, long minTaskNanos) {
+		if(nanosPerElement <= 0 || minTaskNanos <= 0) {
+			throw new IllegalArgumentException("The costs must be positive!");
+		}
+		return inputSize -> {
+			int processors = Runtime.getRuntime().availableProcessors();
+			double threads = inputSize * nanosPerElement / minTaskNanos;
+			return (int) Math.max(1, Math.min(processors, threads));
+		};
+	}
+
+	/**
+	 * Measure the sequential cost per element of a workload.
+	 * The workload is run a few times beforehand so that the JIT has compiled it.
+	 * @param workload		processes as many elements as the given size.
+	 * @param sampleSize	the number of elements of one run.
+	 * @return				the cost of one element in nanoseconds.
+	 */
+	public static double measure(IntConsumer workload, int sampleSize) {
+		if(sampleSize < 1) {
+			throw new IllegalArgumentException("Illegal sample size: " + sampleSize);
+		}
+
+		final int warmups = 5, runs = 5;
+		for(int i = 0; i < warmups; i++) {
+			workload.accept(sampleSize);
+		}
+
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < runs; i++) {
+			long start = System.nanoTime();
+			workload.accept(sampleSize);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return Math.max(1L, best) / (double) sampleSize;
+	}
+}
@@ -2,12 +2,111 @@ package multithreading;
 
 import java.math.BigInteger;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import interfaces.IParallelismPolicy;
 
 public final class ThreadHelper {
 
+	/**
+	 * The system property overriding the number of threads, e.g. {@code -Dalgorithms.threads=8}.
+	 */
+	public static final String THREADS_PROPERTY = "algorithms.threads";
+
+	/**
+	 * The policy consumed by every parallel algorithm of this package.
+	 */
+	private static IParallelismPolicy policy = ParallelismPolicy.systemProperty(THREADS_PROPERTY, ParallelismPolicy.availableProcessors());
+
+	/**
+	 * The fork/join pool shared by the parallel algorithms, sized after the policy.
+	 */
+	private static ForkJoinPool pool;
+
+	/**
+	 * @return	the current parallelism policy.
+	 */
+	public static synchronized IParallelismPolicy policy() {
+		return policy;
+	}
+
+	/**
+	 * Replace the parallelism policy, the shared pool is re-created on its next use.</br>
+	 * The old pool is not shut down, since a caller may have taken it from {@link #pool()} and not submitted its tasks yet:
+	 * it keeps running the tasks it is given, and its idle workers, which are daemon threads, end on their own after a while.
+	 * @param newPolicy		the new policy.
+	 */
+	public static synchronized void setPolicy(IParallelismPolicy newPolicy) {
+		if(newPolicy == null) {
+			throw new IllegalArgumentException("The policy can't be null!");
+		}
+		policy = newPolicy;
+		pool = null;
+	}
+
+	/**
+	 * Ask the current policy how many threads should process the given amount of work.
+	 * @param inputSize		the number of elements to be processed.
+	 * @return				the number of threads, at least 1.
+	 */
+	public static int threads(long inputSize) {
+		return Math.max(1, policy().threads(inputSize));
+	}
+
+	/**
+	 * @return	the fork/join pool shared by the parallel algorithms whose parallelism is the one chosen by the policy for a huge input.
+	 */
+	public static synchronized ForkJoinPool pool() {
+		if(pool == null) {
+			pool = new ForkJoinPool(threads(Long.MAX_VALUE));
+		}
+		return pool;
+	}
+
+	/**
+	 * Run the body on every task index from 0 to tasks-1 on the shared {@link #pool() pool}, and wait for all of them.
+	 * @param tasks		the number of tasks.
+	 * @param body		the work of one task, given its index.
+	 */
+	public static void forEach(int tasks, IntConsumer body) {
+		if(tasks > 0) {
+			pool().invoke(new ForEach(body, 0, tasks));
+		}
+	}
+
+	/**
+	 * Run the tasks from .. to-1, by splitting the range in two halves so that idle workers steal them.
+	 */
+	private static final class ForEach extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IntConsumer body;
+
+		private final int from, to;
+
+		private ForEach(IntConsumer body, int from, int to) {
+			this.body = body;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from == 1) {
+				body.accept(from);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ForEach(body, from, middle), new ForEach(body, middle, to));
+		}
+	}
 
 	/**
-	 * Takes from the standard input the number of threads.
+	 * Takes from the standard input the number of threads.</br>
+	 * It blocks until the user answers, the parallel algorithms go through {@link #threads(long)} instead.
 	 * 
 	 * @return	the number of threads if entered correctly.
 	 */
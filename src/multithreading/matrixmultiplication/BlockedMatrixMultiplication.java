@@ -0,0 +1,197 @@
+package multithreading.matrixmultiplication;
+
+import java.util.Arrays;
+
+import enums.MultiplicationStrategy;
+
+/**
+ * A cache-aware matrix multiplication engine working directly on the row-major storage of the matrices.</br></br>
+ *
+ * The naive i-j-k loop walks down a column of B for every element of C, that is to say one cache miss per multiply-add
+ * as soon as B does not fit in the cache. Here the three loops are cut into square blocks so that the blocks of A, B and C
+ * being worked on stay in the cache while they are reused:
+ * <ul>
+ * <li>{@link MultiplicationStrategy#BLOCKED BLOCKED} runs the i-k-j order inside a block so that both B and C are read row by row.</li>
+ * <li>{@link MultiplicationStrategy#BLOCKED_TRANSPOSED BLOCKED_TRANSPOSED} first transposes B so that each element of C is the dot product of two contiguous rows.</li>
+ * <li>{@link MultiplicationStrategy#NAIVE NAIVE} is the i-j-k loop of {@link ParallelMatrixMultiplication}, kept as a reference.</li>
+ * </ul>
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class BlockedMatrixMultiplication {
+
+	/**
+	 * The default edge of a block: three blocks of 64 x 64 doubles take 96 KB, i.e. they fit in a typical L2 cache.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 64;
+
+	private BlockedMatrixMultiplication() {
+		super();
+	}
+
+	/**
+	 * Compute A x B with the given strategy and the default block size.
+	 * @param A			the first matrix.
+	 * @param B			the second matrix.
+	 * @param strategy	the loop ordering to be used.
+	 * @return			the result matrix.
+	 */
+	public static Matrix multiply(Matrix A, Matrix B, MultiplicationStrategy strategy) {
+		return multiply(A, B, strategy, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Compute A x B with the given strategy.
+	 * @param A			the first matrix.
+	 * @param B			the second matrix.
+	 * @param strategy	the loop ordering to be used.
+	 * @param blockSize	the edge of a block.
+	 * @return			the result matrix.
+	 */
+	public static Matrix multiply(Matrix A, Matrix B, MultiplicationStrategy strategy, int blockSize) {
+		checkDimensions(A, B, blockSize);
+
+		Matrix C = new Matrix(A.rows, B.cols);
+		Matrix second = (strategy == MultiplicationStrategy.BLOCKED_TRANSPOSED) ? B.transpose() : B;
+		multiplyTile(A, second, C, 0, A.rows, 0, B.cols, strategy, blockSize);
+		return C;
+	}
+
+	/**
+	 * Compute the tile C[rowFrom .. rowTo-1][colFrom .. colTo-1] of A x B, overwriting whatever the tile of C held.</br>
+	 * Distinct tiles can be computed concurrently since they are written to disjoint parts of C.
+	 * @param A			the first matrix.
+	 * @param B			the second matrix, already transposed for {@link MultiplicationStrategy#BLOCKED_TRANSPOSED BLOCKED_TRANSPOSED}.
+	 * @param C			the result matrix.
+	 * @param rowFrom	the first row of the tile.
+	 * @param rowTo		the row after the last one of the tile.
+	 * @param colFrom	the first column of the tile.
+	 * @param colTo		the column after the last one of the tile.
+	 * @param strategy	the loop ordering to be used.
+	 * @param blockSize	the edge of a block.
+	 */
+	static void multiplyTile(Matrix A, Matrix B, Matrix C, int rowFrom, int rowTo, int colFrom, int colTo, MultiplicationStrategy strategy, int blockSize) {
+		switch(strategy) {
+		case NAIVE:
+			naive(A.data(), B.data(), C.data(), A.cols, C.cols, rowFrom, rowTo, colFrom, colTo);
+			break;
+		case BLOCKED:
+			clear(C.data(), C.cols, rowFrom, rowTo, colFrom, colTo);
+			blocked(A.data(), B.data(), C.data(), A.cols, C.cols, rowFrom, rowTo, colFrom, colTo, blockSize);
+			break;
+		case BLOCKED_TRANSPOSED:
+			clear(C.data(), C.cols, rowFrom, rowTo, colFrom, colTo);
+			blockedTransposed(A.data(), B.data(), C.data(), A.cols, C.cols, rowFrom, rowTo, colFrom, colTo, blockSize);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown strategy: " + strategy);
+		}
+	}
+
+	/**
+	 * Fill the tile of C with zeros, the blocked loops accumulating into C block after block.
+	 * @param m	the number of columns of C.
+	 */
+	private static void clear(double[] c, int m, int rowFrom, int rowTo, int colFrom, int colTo) {
+		for(int i = rowFrom; i < rowTo; i++) {
+			Arrays.fill(c, i * m + colFrom, i * m + colTo, 0D);
+		}
+	}
+
+	/**
+	 * The classic i-j-k loop.
+	 * @param n	the number of columns of A (i.e. the number of rows of B).
+	 * @param m	the number of columns of C.
+	 */
+	private static void naive(double[] a, double[] b, double[] c, int n, int m, int rowFrom, int rowTo, int colFrom, int colTo) {
+		for(int i = rowFrom; i < rowTo; i++) {
+			for(int j = colFrom; j < colTo; j++) {
+				double sum = 0D;
+				for(int k = 0; k < n; k++) {
+					sum += a[i * n + k] * b[k * m + j];
+				}
+				c[i * m + j] = sum;
+			}
+		}
+	}
+
+	/**
+	 * The i-k-j loop within square blocks: the innermost loop streams along one row of B and one row of C.
+	 */
+	private static void blocked(double[] a, double[] b, double[] c, int n, int m, int rowFrom, int rowTo, int colFrom, int colTo, int blockSize) {
+		for(int ii = rowFrom; ii < rowTo; ii += blockSize) {
+			int iEnd = Math.min(ii + blockSize, rowTo);
+
+			for(int kk = 0; kk < n; kk += blockSize) {
+				int kEnd = Math.min(kk + blockSize, n);
+
+				for(int jj = colFrom; jj < colTo; jj += blockSize) {
+					int jEnd = Math.min(jj + blockSize, colTo);
+
+					for(int i = ii; i < iEnd; i++) {
+						int rowA = i * n;
+						int rowC = i * m;
+						for(int k = kk; k < kEnd; k++) {
+							double aik = a[rowA + k];
+							int rowB = k * m;
+							for(int j = jj; j < jEnd; j++) {
+								c[rowC + j] += aik * b[rowB + j];
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The i-j-k loop within square blocks over the transpose of B: the innermost loop is a dot product of two contiguous rows.
+	 */
+	private static void blockedTransposed(double[] a, double[] bt, double[] c, int n, int m, int rowFrom, int rowTo, int colFrom, int colTo, int blockSize) {
+		for(int ii = rowFrom; ii < rowTo; ii += blockSize) {
+			int iEnd = Math.min(ii + blockSize, rowTo);
+
+			for(int jj = colFrom; jj < colTo; jj += blockSize) {
+				int jEnd = Math.min(jj + blockSize, colTo);
+
+				for(int kk = 0; kk < n; kk += blockSize) {
+					int kEnd = Math.min(kk + blockSize, n);
+
+					for(int i = ii; i < iEnd; i++) {
+						int rowA = i * n;
+						int rowC = i * m;
+						for(int j = jj; j < jEnd; j++) {
+							int rowB = j * n;
+							double sum = c[rowC + j];
+							for(int k = kk; k < kEnd; k++) {
+								sum += a[rowA + k] * bt[rowB + k];
+							}
+							c[rowC + j] = sum;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check whether the multiplication of two matrix is possible that is to say if the number of columns of A
+	 * is the same as the number of rows of B.
+	 */
+	static void checkDimensions(Matrix A, Matrix B, int blockSize) {
+		if(A == null || B == null || A.cols != B.rows) {
+			throw new IllegalStateException("The matrices are not the same dimension !");
+		}
+		if(blockSize < 1) {
+			throw new IllegalArgumentException("Illegal block size: " + blockSize);
+		}
+	}
+
+	/**
+	 * @return	the number of floating-point operations of A x B, i.e. one multiplication and one addition per term.
+	 */
+	public static double flops(Matrix A, Matrix B) {
+		return 2.0 * A.rows * A.cols * B.cols;
+	}
+}
@@ -1,20 +1,26 @@
 package multithreading.matrixmultiplication;
 
-import java.util.Scanner;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
 public final class Matrix {
 
-	private final double arr[][];
+	/**
+	 * The row-major backing store: the element (i, j) is at the index i * cols + j.
+	 */
+	private final double data[];
 	public final int rows, cols;
 
 	public Matrix(int rows, int cols) {
 		if(rows < 1 || cols < 1) {
 			throw new IndexOutOfBoundsException("You cannot create a matrix smaller than 1 X 1");
 		}
+		if((long) rows * cols > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A matrix of " + rows + " X " + cols + " elements does not fit in an array");
+		}
 		this.rows = rows;
 		this.cols = cols;
-		arr = new double[this.rows][this.cols];
+		data = new double[this.rows * this.cols];
 	}
 	
 	/**
@@ -28,17 +34,38 @@ public final class Matrix {
 
 		for(int i = 0; i < fill.rows; i++){
 			for(int j = 0; j < fill.cols; j++){
-				fill.arr[i][j] = ThreadLocalRandom.current().nextDouble(min, max);
+				fill.data[i * fill.cols + j] = ThreadLocalRandom.current().nextDouble(min, max);
 			}
 		}
 		return fill;
 	}
 	
+	// both indexes are checked, since a column out of range would otherwise reach the next row; the JIT hoists the checks out of the loops.
 	public void set(int i, int j, double value) {
-		arr[i][j] = value;
+		data[Objects.checkIndex(i, rows) * cols + Objects.checkIndex(j, cols)] = value;
 	}
 
 	public double get(int i, int j) {
-		return arr[i][j];
+		return data[Objects.checkIndex(i, rows) * cols + Objects.checkIndex(j, cols)];
+	}
+
+	/**
+	 * @return	a new matrix which is the transpose of this one.
+	 */
+	public Matrix transpose() {
+		Matrix transpose = new Matrix(cols, rows);
+		for(int i = 0; i < rows; i++) {
+			for(int j = 0; j < cols; j++) {
+				transpose.data[j * rows + i] = data[i * cols + j];
+			}
+		}
+		return transpose;
+	}
+
+	/**
+	 * @return	the row-major backing store, shared with the multiplication kernels.
+	 */
+	double[] data() {
+		return data;
 	}
 }
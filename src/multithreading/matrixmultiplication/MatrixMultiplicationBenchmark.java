@@ -0,0 +1,54 @@
+package multithreading.matrixmultiplication;
+
+import StdLib.StopWatch;
+import enums.MultiplicationStrategy;
+
+/**
+ * Measure the throughput in GFLOP/s of each {@link MultiplicationStrategy} on square matrices.</br>
+ * {@link MultiplicationStrategy#NAIVE NAIVE} is the kernel run by every worker of {@link ParallelMatrixMultiplication},
+ * so it is the single-threaded baseline the other strategies are compared with.</br></br>
+ *
+ * Usage: {@code MatrixMultiplicationBenchmark [size] [blockSize] [repetitions]}
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class MatrixMultiplicationBenchmark {
+
+	private static final int DEFAULT_SIZE = 1024;
+
+	private static final int DEFAULT_REPETITIONS = 3;
+
+	public static void main(String[] args) {
+
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+		int blockSize = args.length > 1 ? Integer.parseInt(args[1]) : BlockedMatrixMultiplication.DEFAULT_BLOCK_SIZE;
+		int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REPETITIONS;
+
+		Matrix A = new Matrix(size, size).fill(10, 20);
+		Matrix B = new Matrix(size, size).fill(10, 20);
+
+		System.out.println("Multiplying two " + size + " x " + size + " matrices with blocks of " + blockSize);
+
+		double baseline = 0D;
+		for(MultiplicationStrategy strategy : MultiplicationStrategy.values()) {
+
+			// the first run only warms up the JIT.
+			BlockedMatrixMultiplication.multiply(A, B, strategy, blockSize);
+
+			double best = Double.MAX_VALUE;
+			for(int r = 0; r < repetitions; r++) {
+				StopWatch.startTime();
+				BlockedMatrixMultiplication.multiply(A, B, strategy, blockSize);
+				best = Math.min(best, StopWatch.elapsedTime());
+			}
+
+			double gflops = BlockedMatrixMultiplication.flops(A, B) / best / 1e9;
+			if(strategy == MultiplicationStrategy.NAIVE) {
+				baseline = gflops;
+			}
+
+			System.out.printf("%-20s %8.3f s %8.3f GFLOP/s %6.2fx%n", strategy, best, gflops, gflops / baseline);
+		}
+	}
+}
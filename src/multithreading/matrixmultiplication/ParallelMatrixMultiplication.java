@@ -1,12 +1,20 @@
 package multithreading.matrixmultiplication;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RecursiveAction;
 
 import StdLib.StopWatch;
+import enums.MultiplicationStrategy;
+import enums.Scheduling;
 import multithreading.ThreadHelper;
 
 public final class ParallelMatrixMultiplication{
 
+	/**
+	 * Below this number of elements of C, a tile is computed sequentially instead of being split again.
+	 */
+	private static final int TILE_AREA = 128 * 128;
+
 	/**
 	 * The first matrix
 	 */
@@ -36,27 +44,95 @@ public final class ParallelMatrixMultiplication{
 
 	private CountDownLatch done;
 
+	/**
+	 * The first exception thrown by a worker, rethrown once all of them are done.
+	 */
+	private volatile RuntimeException failure;
+
+	/**
+	 * How the work is distributed between the threads.
+	 */
+	private final Scheduling scheduling;
+
 	public ParallelMatrixMultiplication(Matrix firstMatrix, Matrix seconMatrix) {
+		this(firstMatrix, seconMatrix, Scheduling.STATIC_ROWS);
+	}
+
+	/**
+	 * Create the multiplication of two matrices with the given scheduling.</br>
+	 * With {@link Scheduling#STATIC_ROWS STATIC_ROWS}, A is cut into one chunk of rows per new thread.
+	 * With {@link Scheduling#WORK_STEALING WORK_STEALING}, C is recursively cut into 2D tiles run on the shared fork/join pool
+	 * whose idle workers steal the remaining tiles, so the threads are reused from one multiplication to the next.</br>
+	 * In both cases the number of threads is chosen by the {@link ThreadHelper#policy() parallelism policy}.
+	 * @param firstMatrix	the first matrix.
+	 * @param seconMatrix	the second matrix.
+	 * @param scheduling	the way the work is distributed.
+	 */
+	public ParallelMatrixMultiplication(Matrix firstMatrix, Matrix seconMatrix, Scheduling scheduling) {
 		A = firstMatrix;
 		B = seconMatrix;
 		C = new Matrix(A.rows, B.cols);
-		nbThread = ThreadHelper.threads();
-		workers = new Worker[nbThread];
-		start = new CountDownLatch(1);
-		done = new CountDownLatch(nbThread);
+		this.scheduling = scheduling;
+		// the amount of work is the number of multiply-adds.
+		nbThread = Math.min(ThreadHelper.threads((long) A.rows * A.cols * B.cols), A.rows);
+		if(scheduling == Scheduling.STATIC_ROWS) {
+			workers = new Worker[nbThread];
+		}
 	}
 
 	public void startProcessing() {
+		if(scheduling == Scheduling.WORK_STEALING) {
+			stealWork();
+		}else {
+			splitRows();
+		}
+	}
+
+	/**
+	 * @return	the result matrix.
+	 */
+	public Matrix result() {
+		return C;
+	}
+
+	/**
+	 * Compute C tile by tile on the shared pool.
+	 */
+	private void stealWork() {
+
+		BlockedMatrixMultiplication.checkDimensions(A, B, BlockedMatrixMultiplication.DEFAULT_BLOCK_SIZE);
+
+		// starting time...
+		StopWatch.startTime();
+
+		if(nbThread <= 1) {
+			BlockedMatrixMultiplication.multiplyTile(A, B, C, 0, C.rows, 0, C.cols,
+					MultiplicationStrategy.BLOCKED, BlockedMatrixMultiplication.DEFAULT_BLOCK_SIZE);
+		}else {
+			ThreadHelper.pool().invoke(new Tile(0, C.rows, 0, C.cols));
+		}
+
+		System.out.println("Execution Time: " + StopWatch.elapsedTime() + " seconds");
+	}
+
+	/**
+	 * Compute C with one thread per chunk of rows.
+	 */
+	private void splitRows() {
 
 		/*Assigning roles....*/
-		int rowThread = 0, startRow = 0, chunkSize = (int) (Math.ceil(A.rows / (double)nbThread));;
+		// new latches for each run, so that the processing can be started again.
+		start = new CountDownLatch(1);
+		done = new CountDownLatch(nbThread);
+		failure = null;
 
 		// initializing threads and distributing the work load and adding to the pool...
-		for(int i = 0; i < nbThread - 1; i++) {
-			workers[i] = new Worker(startRow, startRow + chunkSize, A, B, start, done);
-			startRow += chunkSize;
+		// the chunks differ by one row at most, none of them being empty or beyond the last row.
+		for(int i = 0; i < nbThread; i++) {
+			int startRow = (int) ((long) A.rows * i / nbThread);
+			int stopRow = (int) ((long) A.rows * (i + 1) / nbThread);
+			workers[i] = new Worker(startRow, stopRow, A, B, start, done);
 		}
-		workers[nbThread - 1] = new Worker(startRow, A.rows, A, B, start, done);
 
 		// starting time...
 		StopWatch.startTime();
@@ -76,6 +152,10 @@ public final class ParallelMatrixMultiplication{
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
+
+		if(failure != null) {
+			throw failure;
+		}
 		
 		System.out.println("Execution Time: " + StopWatch.elapsedTime() + " seconds");
 	}
@@ -84,12 +164,54 @@ public final class ParallelMatrixMultiplication{
 	public void clear() {
 		A = B = C = null;
 		start = done = null;
-		for(Worker worker : workers) {
-			worker = null;
-		}
+		workers = null;
 		return;
 	}
 
+	/**
+	 * The tile C[rowFrom .. rowTo-1][colFrom .. colTo-1], split in two along its longer side until it is small enough.
+	 */
+	private final class Tile extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int rowFrom, rowTo, colFrom, colTo;
+
+		private Tile(int rowFrom, int rowTo, int colFrom, int colTo) {
+			this.rowFrom = rowFrom;
+			this.rowTo = rowTo;
+			this.colFrom = colFrom;
+			this.colTo = colTo;
+		}
+
+		@Override
+		protected void compute() {
+			int rows = rowTo - rowFrom;
+			int cols = colTo - colFrom;
+
+			if((long) rows * cols <= TILE_AREA || (rows == 1 && cols == 1)) {
+				BlockedMatrixMultiplication.multiplyTile(A, B, C, rowFrom, rowTo, colFrom, colTo,
+						MultiplicationStrategy.BLOCKED, BlockedMatrixMultiplication.DEFAULT_BLOCK_SIZE);
+				return;
+			}
+
+			// cutting on a multiple of the block size whenever possible so that the blocks stay whole.
+			if(rows >= cols) {
+				int middle = rowFrom + split(rows);
+				invokeAll(new Tile(rowFrom, middle, colFrom, colTo), new Tile(middle, rowTo, colFrom, colTo));
+			}else {
+				int middle = colFrom + split(cols);
+				invokeAll(new Tile(rowFrom, rowTo, colFrom, middle), new Tile(rowFrom, rowTo, middle, colTo));
+			}
+		}
+
+		private int split(int length) {
+			int half = length / 2;
+			int aligned = half - half % BlockedMatrixMultiplication.DEFAULT_BLOCK_SIZE;
+			return aligned > 0 ? aligned : half;
+		}
+	}
+
 
 	private final class Worker extends Thread{
 
@@ -134,9 +256,15 @@ public final class ParallelMatrixMultiplication{
 						C.set(i, j, sum);
 					}
 				}
-				doneSignal.countDown();
 			}catch (InterruptedException e) {
 				e.printStackTrace();
+			}catch (RuntimeException e) {
+				if(failure == null) {
+					failure = e;
+				}
+			}finally {
+				// counted down whatever happens, so that a failing worker does not leave the caller waiting forever.
+				doneSignal.countDown();
 			}
 		}
 
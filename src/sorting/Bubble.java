@@ -1,5 +1,7 @@
 package sorting;
 
+import java.util.Comparator;
+
 import helper.GenericHelper;
 
 public class Bubble {
@@ -50,4 +52,26 @@ public class Bubble {
 
 		}while(anotherSwap);
 	}
+
+	/**
+	 * Works like {@link #sort(Comparable[]) sort} in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		boolean anotherSwap;
+		int N = array.length;
+		do {
+			anotherSwap = false;
+
+			for(int i = 0; i < N - 1; i++) {
+				if(GenericHelper.isLess(array[i+1], array[i], comparator)) {
+					GenericHelper.swap(array, i, i + 1);
+					anotherSwap = true;
+				}
+			}
+			N -= 1;
+
+		}while(anotherSwap);
+	}
 }
@@ -0,0 +1,409 @@
+package sorting;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import StdLib.ReadIn;
+import structures.LoserTree;
+
+/**
+ * A stable external merge sort of the lines of a text file which may not fit in memory.</br></br>
+ *
+ * <ol>
+ * <li>The lines are read until the memory budget is reached; this chunk is sorted by {@link Merge}
+ * then spilled to a temporary run file, each line being written as its UTF-8 bytes prefixed by their length in a varint.</li>
+ * <li>The runs are merged by a {@link LoserTree}, each run being read through a buffered {@link FileChannel}.
+ * When there are more runs than the fan-in, consecutive runs are merged into longer runs first.</li>
+ * </ol>
+ * Since the chunks are sorted by a stable sort and the merges keep the runs in the order of the input,
+ * the lines which compare equal keep their relative order.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class ExternalMerge {
+
+	/**
+	 * The default amount of memory the lines of a run may take: 64 MB.
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+	/**
+	 * The default maximum number of runs merged at once.
+	 */
+	public static final int DEFAULT_FAN_IN = 64;
+
+	/**
+	 * The estimated cost of a string besides its chars: header, fields, array header and the references to it
+	 * held by the chunk and by the temporary array of the merge sort.
+	 */
+	private static final int STRING_OVERHEAD = 64;
+
+	/**
+	 * The bounds of the buffer of a run file.
+	 */
+	private static final int MIN_BUFFER_SIZE = 1 << 12, MAX_BUFFER_SIZE = 1 << 20;
+
+	private final long memoryBudget;
+
+	private final int fanIn;
+
+	private final Path tempDirectory;
+
+	/**
+	 * Create an external sort with the default memory budget and fan-in, spilling its runs to the default temporary directory.
+	 */
+	public ExternalMerge() {
+		this(DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN, Path.of(System.getProperty("java.io.tmpdir")));
+	}
+
+	/**
+	 * Create an external sort.
+	 * @param memoryBudget	the approximate number of bytes the lines of a run may take in memory.
+	 * @param fanIn			the maximum number of runs merged at once, at least 2.
+	 * @param tempDirectory	the directory where the runs are spilled.
+	 */
+	public ExternalMerge(long memoryBudget, int fanIn, Path tempDirectory) {
+		if(memoryBudget <= 0) {
+			throw new IllegalArgumentException("Illegal memory budget: " + memoryBudget);
+		}
+		if(fanIn < 2) {
+			throw new IllegalArgumentException("Illegal fan-in: " + fanIn);
+		}
+		if(tempDirectory == null) {
+			throw new IllegalArgumentException("The temporary directory can't be null!");
+		}
+		this.memoryBudget = memoryBudget;
+		this.fanIn = fanIn;
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Sort the lines of the input file in the natural order of strings.
+	 * @param input		the UTF-8 text file to sort of.
+	 * @param output	the file receiving the sorted lines, it may be the input file itself.
+	 * @return			the number of lines.
+	 * @throws IOException	if a file can't be read or written.
+	 */
+	public long sort(Path input, Path output) throws IOException {
+		return sort(input, output, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Sort the lines of the input file in the order given by the comparator.
+	 * @param input			the UTF-8 text file to sort of.
+	 * @param output		the file receiving the sorted lines, it may be the input file itself.
+	 * @param comparator	the ordering of the lines.
+	 * @return				the number of lines.
+	 * @throws IOException	if a file can't be read or written.
+	 */
+	public long sort(Path input, Path output, Comparator<? super String> comparator) throws IOException {
+		List<Path> runs = new ArrayList<>();
+		try {
+			long lines = createRuns(input, runs, comparator);
+
+			while(runs.size() > fanIn) {
+				runs = mergePass(runs, comparator);
+			}
+
+			try(BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+				merge(runs, comparator, line -> {
+					writer.write(line);
+					writer.newLine();
+				});
+			}
+			return lines;
+		}finally {
+			for(Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+		}
+	}
+
+	/**
+	 * Cut the input into sorted runs of about the memory budget.
+	 * @param runs	receives the run files in the order of the input.
+	 * @return		the number of lines.
+	 */
+	private long createRuns(Path input, List<Path> runs, Comparator<? super String> comparator) throws IOException {
+		long lines = 0;
+		List<String> chunk = new ArrayList<>();
+		long chunkBytes = 0;
+
+		try(ReadIn.LineReader reader = ReadIn.lines(input)) {
+			while(reader.hasNext()) {
+				String line = reader.next();
+				chunk.add(line);
+				chunkBytes += STRING_OVERHEAD + 2L * line.length();
+				lines++;
+
+				if(chunkBytes >= memoryBudget) {
+					runs.add(spill(chunk, comparator));
+					chunk.clear();
+					chunkBytes = 0;
+				}
+			}
+		}
+
+		if(!chunk.isEmpty() || runs.isEmpty()) {
+			runs.add(spill(chunk, comparator));
+		}
+		return lines;
+	}
+
+	/**
+	 * Sort a chunk and write it to a new run file.
+	 */
+	private Path spill(List<String> chunk, Comparator<? super String> comparator) throws IOException {
+		String[] lines = chunk.toArray(new String[0]);
+		Merge.sort(lines, comparator);
+
+		Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+		try(RunWriter writer = new RunWriter(run, bufferSize(1))) {
+			for(String line : lines) {
+				writer.write(line);
+			}
+		}catch(IOException | RuntimeException e) {
+			// the run is not in the list of runs yet, nobody else would delete it.
+			Files.deleteIfExists(run);
+			throw e;
+		}
+		return run;
+	}
+
+	/**
+	 * Merge each group of fan-in consecutive runs into one run, and delete the merged runs.
+	 * @return	the new runs in the same order.
+	 */
+	private List<Path> mergePass(List<Path> runs, Comparator<? super String> comparator) throws IOException {
+		List<Path> merged = new ArrayList<>();
+		try {
+			for(int from = 0; from < runs.size(); from += fanIn) {
+				List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+				Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+				merged.add(run);
+
+				try(RunWriter writer = new RunWriter(run, bufferSize(group.size() + 1))) {
+					merge(group, comparator, writer::write);
+				}
+				for(Path old : group) {
+					Files.delete(old);
+				}
+			}
+		}catch(IOException | RuntimeException e) {
+			for(Path run : merged) {
+				Files.deleteIfExists(run);
+			}
+			throw e;
+		}
+		return merged;
+	}
+
+	/**
+	 * Merge the given runs, the ties going to the earlier run.
+	 */
+	private void merge(List<Path> runs, Comparator<? super String> comparator, LineConsumer consumer) throws IOException {
+		RunReader[] readers = new RunReader[runs.size()];
+		try {
+			int bufferSize = bufferSize(runs.size() + 1);
+			for(int i = 0; i < readers.length; i++) {
+				readers[i] = new RunReader(runs.get(i), bufferSize);
+			}
+
+			LoserTree<String> tree = new LoserTree<>(comparator, readers);
+			while(tree.hasNext()) {
+				consumer.accept(tree.next());
+			}
+		}catch(UncheckedIOException e) {
+			throw e.getCause();
+		}finally {
+			for(RunReader reader : readers) {
+				if(reader != null) {
+					reader.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return	the size of the buffer of each of the given number of open files, so that they share the memory budget.
+	 */
+	private int bufferSize(int files) {
+		return (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, memoryBudget / files));
+	}
+
+	@FunctionalInterface
+	private interface LineConsumer {
+		void accept(String line) throws IOException;
+	}
+
+	/**
+	 * Writes the lines of a run: the varint length of the UTF-8 bytes followed by the bytes.
+	 */
+	private static final class RunWriter implements Closeable {
+
+		/**
+		 * The maximum size of an int written as a varint.
+		 */
+		private static final int MAX_VARINT_SIZE = 5;
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer;
+
+		private RunWriter(Path file, int bufferSize) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		}
+
+		private void write(String line) throws IOException {
+			byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+			if(buffer.remaining() < MAX_VARINT_SIZE + bytes.length) {
+				flush();
+			}
+
+			// 7 bits per byte, the high bit telling whether another byte follows.
+			int length = bytes.length;
+			while((length & ~0x7F) != 0) {
+				buffer.put((byte) ((length & 0x7F) | 0x80));
+				length >>>= 7;
+			}
+			buffer.put((byte) length);
+
+			if(bytes.length <= buffer.remaining()) {
+				buffer.put(bytes);
+			}else {
+				// a line longer than the buffer is written directly.
+				flush();
+				ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+				while(wrapped.hasRemaining()) {
+					channel.write(wrapped);
+				}
+			}
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			}finally {
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads back the lines written by a {@link RunWriter}.
+	 */
+	private static final class RunReader implements Iterator<String>, Closeable {
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer;
+
+		/**
+		 * The line to be returned by {@link #next()}, null at the end of the run.
+		 */
+		private String nextLine;
+
+		private RunReader(Path file, int bufferSize) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.READ);
+			this.buffer = ByteBuffer.allocateDirect(bufferSize);
+			this.buffer.flip();
+			this.nextLine = read();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextLine != null;
+		}
+
+		@Override
+		public String next() {
+			if(nextLine == null) {
+				throw new NoSuchElementException("The run is exhausted!!");
+			}
+			String line = nextLine;
+			try {
+				nextLine = read();
+			}catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return line;
+		}
+
+		/**
+		 * @return	the next line of the run, or null at its end.
+		 */
+		private String read() throws IOException {
+			if(!buffer.hasRemaining() && !fill()) {
+				return null;
+			}
+
+			int length = 0;
+			for(int shift = 0; ; shift += 7) {
+				if(!buffer.hasRemaining() && !fill()) {
+					throw new EOFException("Truncated run file");
+				}
+				byte b = buffer.get();
+				length |= (b & 0x7F) << shift;
+				if(b >= 0) {
+					break;
+				}
+			}
+
+			byte[] bytes = new byte[length];
+			for(int filled = 0; filled < length; ) {
+				if(!buffer.hasRemaining() && !fill()) {
+					throw new EOFException("Truncated run file");
+				}
+				int n = Math.min(buffer.remaining(), length - filled);
+				buffer.get(bytes, filled, n);
+				filled += n;
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Refill the empty buffer from the file.
+		 * @return	false at the end of the file.
+		 */
+		private boolean fill() throws IOException {
+			buffer.clear();
+			int n;
+			do {
+				n = channel.read(buffer);
+			}while(n == 0);
+			buffer.flip();
+			return n > 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
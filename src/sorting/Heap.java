@@ -1,5 +1,12 @@
 package sorting;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import helper.GenericHelper;
 import structures.MinPriorityQueue;
 
 public class Heap {
@@ -17,4 +24,196 @@ public class Heap {
         }
 	}
 	
+	/**
+	 * Keep the k largest elements of a stream in O(n log k) time and O(k) space:
+	 * a min-oriented heap holds the k largest elements seen so far, its root being the one to evict.
+	 * @param it	the elements, read only once.
+	 * @param k		the number of elements to keep.
+	 * @return		the (at most) k largest elements from the largest to the smallest.
+	 */
+	public static <E extends Comparable<E>> List<E> topK(Iterator<? extends E> it, int k) {
+		if(k < 0) {
+			throw new IllegalArgumentException("Illegal number of elements: " + k);
+		}
+
+		MinPriorityQueue<E> heap = new MinPriorityQueue<>(k + 1);
+		int size = 0;
+
+		while(it.hasNext()) {
+			E elem = it.next();
+			if(size < k) {
+				heap.insert(elem);
+				size++;
+			}else if(k > 0 && GenericHelper.isGreater(elem, heap.peek())) {
+				heap.deleteMin();
+				heap.insert(elem);
+			}
+		}
+
+		List<E> top = new ArrayList<>(size);
+		while(size-- > 0) {
+			top.add(heap.deleteMin());
+		}
+		Collections.reverse(top);
+		return top;
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in place, unlike {@link #sort(Comparable[]) sort} no priority queue is built.</br>
+	 * It is the fallback of {@link Intro} when the recursion of the quicksort gets too deep.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, int startIndex, int endIndex) {
+		sort(array, startIndex, endIndex, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Sort the given array in place in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		sort(array, 0, array.length - 1, comparator);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in place in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		int N = endIndex - startIndex + 1;
+
+		for(int k = N/2 - 1; k >= 0; k--) {
+			sink(array, startIndex, k, N, comparator);
+		}
+
+		while(N > 1) {
+			GenericHelper.swap(array, startIndex, startIndex + --N);
+			sink(array, startIndex, 0, N, comparator);
+		}
+	}
+
+	/**
+	 * Restore the max-heap property of array[offset .. offset+N-1] from the (0-based) index k downwards.
+	 */
+	private static <T> void sink(T[] array, int offset, int k, int N, Comparator<? super T> comparator) {
+		T key = array[offset + k];
+		int child;
+		while((child = 2*k + 1) < N) {
+			if(child + 1 < N && comparator.compare(array[offset + child], array[offset + child + 1]) < 0) child++;
+			if(comparator.compare(key, array[offset + child]) >= 0) break;
+			array[offset + k] = array[offset + child];
+			k = child;
+		}
+		array[offset + k] = key;
+	}
+
+	/***********************************************************************
+	 * 		Primitive specializations (in-place, no priority queue).
+	 **********************************************************************/
+
+	/**
+	 * Sort the given array in place: the array is turned into a max-oriented heap
+	 * then the maximum is repeatedly exchanged with the last element of the heap.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		int N = array.length;
+
+		for(int k = N/2 - 1; k >= 0; k--) {
+			sink(array, k, N);
+		}
+
+		while(N > 1) {
+			GenericHelper.swap(array, 0, --N);
+			sink(array, 0, N);
+		}
+	}
+
+	/**
+	 * Restore the (0-based) max-heap property of array[0 .. N-1] from the index k downwards.
+	 */
+	private static void sink(int[] array, int k, int N) {
+		int key = array[k];
+		int child;
+		while((child = 2*k + 1) < N) {
+			if(child + 1 < N && array[child] < array[child + 1]) child++;
+			if(key >= array[child]) break;
+			array[k] = array[child];
+			k = child;
+		}
+		array[k] = key;
+	}
+
+	/**
+	 * Sort the given array in place: the array is turned into a max-oriented heap
+	 * then the maximum is repeatedly exchanged with the last element of the heap.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(long[] array) {
+		int N = array.length;
+
+		for(int k = N/2 - 1; k >= 0; k--) {
+			sink(array, k, N);
+		}
+
+		while(N > 1) {
+			GenericHelper.swap(array, 0, --N);
+			sink(array, 0, N);
+		}
+	}
+
+	/**
+	 * Restore the (0-based) max-heap property of array[0 .. N-1] from the index k downwards.
+	 */
+	private static void sink(long[] array, int k, int N) {
+		long key = array[k];
+		int child;
+		while((child = 2*k + 1) < N) {
+			if(child + 1 < N && array[child] < array[child + 1]) child++;
+			if(key >= array[child]) break;
+			array[k] = array[child];
+			k = child;
+		}
+		array[k] = key;
+	}
+
+	/**
+	 * Sort the given array in place: the array is turned into a max-oriented heap
+	 * then the maximum is repeatedly exchanged with the last element of the heap.
+	 * NaN values are not supported since they are not ordered by {@code <}.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(double[] array) {
+		int N = array.length;
+
+		for(int k = N/2 - 1; k >= 0; k--) {
+			sink(array, k, N);
+		}
+
+		while(N > 1) {
+			GenericHelper.swap(array, 0, --N);
+			sink(array, 0, N);
+		}
+	}
+
+	/**
+	 * Restore the (0-based) max-heap property of array[0 .. N-1] from the index k downwards.
+	 */
+	private static void sink(double[] array, int k, int N) {
+		double key = array[k];
+		int child;
+		while((child = 2*k + 1) < N) {
+			if(child + 1 < N && array[child] < array[child + 1]) child++;
+			if(key >= array[child]) break;
+			array[k] = array[child];
+			k = child;
+		}
+		array[k] = key;
+	}
 }
@@ -1,5 +1,7 @@
 package sorting;
 
+import java.util.Comparator;
+
 import helper.GenericHelper;
 
 public class Insertion {
@@ -53,6 +55,89 @@ public class Insertion {
 		}
 	}
 
+	/***********************************************************************
+	 * 		Primitive specializations (no boxing, no virtual compareTo).
+	 **********************************************************************/
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * @param array	the array to sort of.
+	 */
+	public static void optimizedSort(int[] array) {
+		optimizedSort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] by moving each key to its position in one go.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void optimizedSort(int[] array, int startIndex, int endIndex) {
+		for (int i = startIndex + 1; i <= endIndex; i++) {
+			int key = array[i];
+			int j = i;
+			while((j > startIndex) && key < array[j - 1]) {
+				array[j] = array[j - 1];
+				j--;
+			}
+			array[j] = key;
+		}
+	}
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * @param array	the array to sort of.
+	 */
+	public static void optimizedSort(long[] array) {
+		optimizedSort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] by moving each key to its position in one go.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void optimizedSort(long[] array, int startIndex, int endIndex) {
+		for (int i = startIndex + 1; i <= endIndex; i++) {
+			long key = array[i];
+			int j = i;
+			while((j > startIndex) && key < array[j - 1]) {
+				array[j] = array[j - 1];
+				j--;
+			}
+			array[j] = key;
+		}
+	}
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * NaN values are not supported since they are not ordered by {@code <}.
+	 * @param array	the array to sort of.
+	 */
+	public static void optimizedSort(double[] array) {
+		optimizedSort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] by moving each key to its position in one go.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void optimizedSort(double[] array, int startIndex, int endIndex) {
+		for (int i = startIndex + 1; i <= endIndex; i++) {
+			double key = array[i];
+			int j = i;
+			while((j > startIndex) && key < array[j - 1]) {
+				array[j] = array[j - 1];
+				j--;
+			}
+			array[j] = key;
+		}
+	}
+
 	/**
 	 * 
 	 * @param array
@@ -89,4 +174,36 @@ public class Insertion {
 		}
 		//assert  GenericHelper.isSorted(array);
 	}
+
+	/***********************************************************************
+	 * 		Comparator overloads (any order, no Comparable required).
+	 **********************************************************************/
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void optimizedSort(T[] array, Comparator<? super T> comparator) {
+		optimizedSort(array, 0, array.length - 1, comparator);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void optimizedSort(T[] array, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		for (int i = startIndex + 1; i <= endIndex; i++) {
+			T key = array[i];
+			int j = i;
+			while((j > startIndex) && GenericHelper.isLess(key, array[j - 1], comparator)) {
+				array[j] = array[j - 1];
+				j--;
+			}
+			array[j] = key;
+		}
+	}
 }
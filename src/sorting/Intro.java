@@ -0,0 +1,304 @@
+package sorting;
+
+import java.util.Comparator;
+
+import helper.GenericHelper;
+
+/**
+ * An introspective sort in the spirit of the pattern-defeating quicksort: a quicksort whose worst case is bounded by O(n log n).</br></br>
+ *
+ * <ul>
+ * <li>The pivot is the median of three elements, or the median of three medians (Tukey's ninther) on large ranges,
+ * so that sorted and reversed inputs are split in the middle.</li>
+ * <li>Each time a partition is highly unbalanced a few elements are swapped to break the pattern,
+ * and after log(n) such partitions the range is handed to {@link Heap#sort(Object[], int, int, Comparator) heapsort}.</li>
+ * <li>Small ranges are sorted by {@link Insertion}.</li>
+ * <li>An input which is already sorted, or strictly descending, is detected in one pass;
+ * a partition which did not move anything is finished by an insertion sort which gives up after a few moves.</li>
+ * <li>When the pivot is equal to the element before the range, all of the elements equal to it are put aside in one pass,
+ * so that many duplicates cost linear time.</li>
+ * </ul>
+ * Like {@link Quick}, this sort is not stable. It orders the elements either naturally or by a {@link Comparator}.
+ *
+ * @see <a href="https://arxiv.org/abs/2106.05123">Pattern-defeating Quicksort</a>
+ * @author Njoyim Peguy
+ *
+ */
+public final class Intro {
+
+	/**
+	 * Below this size, a range is sorted by insertion.
+	 */
+	private static final int INSERTIONSORT_THRESHOLD = 24;
+
+	/**
+	 * Above this size, the pivot is the ninther instead of the median of three.
+	 */
+	private static final int NINTHER_THRESHOLD = 128;
+
+	/**
+	 * The number of moves after which the insertion sort of an already partitioned range gives up.
+	 */
+	private static final int PARTIAL_INSERTIONSORT_LIMIT = 8;
+
+	private Intro() {
+		super();
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array) {
+		sort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex].
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, int startIndex, int endIndex) {
+		sort(array, startIndex, endIndex, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Sort the given array in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		sort(array, 0, array.length - 1, comparator);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		if(endIndex <= startIndex || isPresorted(array, startIndex, endIndex + 1, comparator)) {
+			return;
+		}
+		introsort(array, startIndex, endIndex + 1, log2(endIndex - startIndex + 1), true, comparator);
+	}
+
+	/**
+	 * Sort a[from .. to-1].
+	 * @param badAllowed	the number of highly unbalanced partitions left before switching to heapsort.
+	 * @param leftmost		whether the range is the leftmost one, i.e. a[from-1] can't be used.
+	 */
+	private static <T> void introsort(T[] a, int from, int to, int badAllowed, boolean leftmost, Comparator<? super T> comparator) {
+
+		while(true) {
+			int size = to - from;
+
+			if(size < INSERTIONSORT_THRESHOLD) {
+				Insertion.optimizedSort(a, from, to - 1, comparator);
+				return;
+			}
+
+			// Moving the pivot to a[from], the largest of the sampled elements ends up after it.
+			int half = size / 2;
+			if(size > NINTHER_THRESHOLD) {
+				sort3(a, from, from + half, to - 1, comparator);
+				sort3(a, from + 1, from + half - 1, to - 2, comparator);
+				sort3(a, from + 2, from + half + 1, to - 3, comparator);
+				sort3(a, from + half - 1, from + half, from + half + 1, comparator);
+				GenericHelper.swap(a, from, from + half);
+			}else {
+				sort3(a, from + half, from, to - 1, comparator);
+			}
+
+			// a[from-1] is the pivot of a previous partition thus it is not greater than anything in this range.
+			// If it is equal to our pivot, there is no smaller element: the equal ones are put aside at once.
+			if(!leftmost && comparator.compare(a[from - 1], a[from]) >= 0) {
+				from = partitionLeft(a, from, to, comparator) + 1;
+				continue;
+			}
+
+			int partition = partitionRight(a, from, to, comparator);
+			int pivot = partition >>> 1;
+			boolean alreadyPartitioned = (partition & 1) != 0;
+
+			int leftSize = pivot - from;
+			int rightSize = to - (pivot + 1);
+
+			if(leftSize < size / 8 || rightSize < size / 8) {
+				if(--badAllowed == 0) {
+					Heap.sort(a, from, to - 1, comparator);
+					return;
+				}
+				breakPatterns(a, from, pivot, to, leftSize, rightSize);
+			}else if(alreadyPartitioned && partialInsertionSort(a, from, pivot, comparator) && partialInsertionSort(a, pivot + 1, to, comparator)) {
+				return;
+			}
+
+			// recursing into the smaller part keeps the stack logarithmic.
+			if(leftSize < rightSize) {
+				introsort(a, from, pivot, badAllowed, leftmost, comparator);
+				from = pivot + 1;
+				leftmost = false;
+			}else {
+				introsort(a, pivot + 1, to, badAllowed, false, comparator);
+				to = pivot;
+			}
+		}
+	}
+
+	/**
+	 * Partition a[from .. to-1] around the pivot a[from]: the elements smaller than the pivot go to its left.</br>
+	 * The pivot selection guarantees that an element not smaller than the pivot lies in the range, which stops the first scan.
+	 * @return	the final index of the pivot shifted by one, whose lowest bit tells whether no element had to be swapped.
+	 */
+	private static <T> int partitionRight(T[] a, int from, int to, Comparator<? super T> comparator) {
+		T pivot = a[from];
+		int first = from, last = to;
+
+		while(comparator.compare(a[++first], pivot) < 0);
+
+		if(first - 1 == from) {
+			while(first < last && comparator.compare(a[--last], pivot) >= 0);
+		}else {
+			while(comparator.compare(a[--last], pivot) >= 0);
+		}
+
+		boolean alreadyPartitioned = first >= last;
+
+		while(first < last) {
+			GenericHelper.swap(a, first, last);
+			while(comparator.compare(a[++first], pivot) < 0);
+			while(comparator.compare(a[--last], pivot) >= 0);
+		}
+
+		int pivotIndex = first - 1;
+		a[from] = a[pivotIndex];
+		a[pivotIndex] = pivot;
+		return (pivotIndex << 1) | (alreadyPartitioned ? 1 : 0);
+	}
+
+	/**
+	 * Partition a[from .. to-1] around the pivot a[from]: the elements equal to the pivot go to its left.
+	 * @return	the final index of the pivot.
+	 */
+	private static <T> int partitionLeft(T[] a, int from, int to, Comparator<? super T> comparator) {
+		T pivot = a[from];
+		int first = from, last = to;
+
+		while(comparator.compare(pivot, a[--last]) < 0);
+
+		if(last + 1 == to) {
+			while(first < last && comparator.compare(pivot, a[++first]) >= 0);
+		}else {
+			while(comparator.compare(pivot, a[++first]) >= 0);
+		}
+
+		while(first < last) {
+			GenericHelper.swap(a, first, last);
+			while(comparator.compare(pivot, a[--last]) < 0);
+			while(comparator.compare(pivot, a[++first]) >= 0);
+		}
+
+		a[from] = a[last];
+		a[last] = pivot;
+		return last;
+	}
+
+	/**
+	 * Swap a few elements of both parts of an unbalanced partition so that the next pivots do not fall into the same pattern.
+	 */
+	private static <T> void breakPatterns(T[] a, int from, int pivot, int to, int leftSize, int rightSize) {
+		if(leftSize >= INSERTIONSORT_THRESHOLD) {
+			GenericHelper.swap(a, from, from + leftSize / 4);
+			GenericHelper.swap(a, pivot - 1, pivot - leftSize / 4);
+			if(leftSize > NINTHER_THRESHOLD) {
+				GenericHelper.swap(a, from + 1, from + (leftSize / 4 + 1));
+				GenericHelper.swap(a, from + 2, from + (leftSize / 4 + 2));
+				GenericHelper.swap(a, pivot - 2, pivot - (leftSize / 4 + 1));
+				GenericHelper.swap(a, pivot - 3, pivot - (leftSize / 4 + 2));
+			}
+		}
+
+		if(rightSize >= INSERTIONSORT_THRESHOLD) {
+			GenericHelper.swap(a, pivot + 1, pivot + (1 + rightSize / 4));
+			GenericHelper.swap(a, to - 1, to - rightSize / 4);
+			if(rightSize > NINTHER_THRESHOLD) {
+				GenericHelper.swap(a, pivot + 2, pivot + (2 + rightSize / 4));
+				GenericHelper.swap(a, pivot + 3, pivot + (3 + rightSize / 4));
+				GenericHelper.swap(a, to - 2, to - (1 + rightSize / 4));
+				GenericHelper.swap(a, to - 3, to - (2 + rightSize / 4));
+			}
+		}
+	}
+
+	/**
+	 * Insertion sort of a[from .. to-1] which gives up once it has moved too many elements.
+	 * @return	true if the range is sorted, false if the insertion sort gave up.
+	 */
+	private static <T> boolean partialInsertionSort(T[] a, int from, int to, Comparator<? super T> comparator) {
+		int moves = 0;
+		for(int i = from + 1; i < to; i++) {
+			if(moves > PARTIAL_INSERTIONSORT_LIMIT) {
+				return false;
+			}
+
+			T key = a[i];
+			int j = i;
+			while(j > from && comparator.compare(key, a[j - 1]) < 0) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = key;
+			moves += i - j;
+		}
+		return true;
+	}
+
+	/**
+	 * Check whether a[from .. to-1] is made of a single run:
+	 * an ascending run is left as is, a strictly descending one is reversed.
+	 * It stops at the first element breaking the run so that it costs next to nothing on any other input.
+	 * @return	true if the range is now sorted.
+	 */
+	private static <T> boolean isPresorted(T[] a, int from, int to, Comparator<? super T> comparator) {
+		int i = from + 1;
+		if(comparator.compare(a[i], a[from]) < 0) {
+			while(++i < to && comparator.compare(a[i], a[i - 1]) < 0);
+			if(i == to) {
+				for(int lo = from, hi = to - 1; lo < hi; lo++, hi--) {
+					GenericHelper.swap(a, lo, hi);
+				}
+				return true;
+			}
+		}else {
+			while(++i < to && comparator.compare(a[i], a[i - 1]) >= 0);
+			return i == to;
+		}
+		return false;
+	}
+
+	/**
+	 * Sort a[i], a[j] and a[k].
+	 */
+	private static <T> void sort3(T[] a, int i, int j, int k, Comparator<? super T> comparator) {
+		sort2(a, i, j, comparator);
+		sort2(a, j, k, comparator);
+		sort2(a, i, j, comparator);
+	}
+
+	private static <T> void sort2(T[] a, int i, int j, Comparator<? super T> comparator) {
+		if(comparator.compare(a[j], a[i]) < 0) {
+			GenericHelper.swap(a, i, j);
+		}
+	}
+
+	/**
+	 * @return	the floor of log2(n) for a positive n.
+	 */
+	private static int log2(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+}
@@ -0,0 +1,209 @@
+package sorting;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sort records by a key derived from them, the key of each record being computed only once (the Schwartzian transform).</br></br>
+ *
+ * Sorting with a comparator such as {@code comparing(Entry::getValue)} computes two keys per comparison, i.e. about 2 n log(n) keys.
+ * Here the keys are extracted into an array which is sorted together with the index of each record,
+ * then the records are moved to their place in one pass:
+ * <ul>
+ * <li>the int keys are packed with their index into a long and sorted by {@link Radix};</li>
+ * <li>the long and double keys are sorted with their index by an LSD radix sort, a double being mapped to a long of the same order;</li>
+ * <li>any other {@link Comparable} key is sorted with its index by a merge sort.</li>
+ * </ul>
+ * All of these sorts are stable: records with equal keys keep their relative order.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class KeySort {
+
+	/**
+	 * Below this size, the indexes are sorted by insertion.
+	 */
+	private static final int INSERTIONSORT_THRESHOLD = 6;
+
+	private KeySort() {
+		super();
+	}
+
+	/**
+	 * Sort the records by an int key.
+	 * @param array	the records to sort of.
+	 * @param key	the key of a record, called once per record.
+	 */
+	public static <T> void sortByInt(T[] array, ToIntFunction<? super T> key) {
+		int n = array.length;
+
+		// the key in the high half and the index in the low one: equal keys are ordered by index.
+		long[] packed = new long[n];
+		for(int i = 0; i < n; i++) {
+			packed[i] = ((long) key.applyAsInt(array[i]) << Integer.SIZE) | i;
+		}
+
+		Radix.sort(packed);
+
+		int[] index = new int[n];
+		for(int i = 0; i < n; i++) {
+			index[i] = (int) packed[i];
+		}
+		permute(array, index);
+	}
+
+	/**
+	 * Sort the records by a long key.
+	 * @param array	the records to sort of.
+	 * @param key	the key of a record, called once per record.
+	 */
+	public static <T> void sortByLong(T[] array, ToLongFunction<? super T> key) {
+		long[] keys = new long[array.length];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = key.applyAsLong(array[i]);
+		}
+		permute(array, radixSortIndex(keys));
+	}
+
+	/**
+	 * Sort the records by a double key in the order of {@link Double#compare(double, double)}:
+	 * -0.0 comes before 0.0 and NaN comes last.
+	 * @param array	the records to sort of.
+	 * @param key	the key of a record, called once per record.
+	 */
+	public static <T> void sortByDouble(T[] array, ToDoubleFunction<? super T> key) {
+		long[] keys = new long[array.length];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = sortableBits(key.applyAsDouble(array[i]));
+		}
+		permute(array, radixSortIndex(keys));
+	}
+
+	/**
+	 * Sort the records by a comparable key.
+	 * @param array	the records to sort of.
+	 * @param key	the key of a record, called once per record.
+	 */
+	public static <T, K extends Comparable<? super K>> void sortBy(T[] array, Function<? super T, ? extends K> key) {
+		int n = array.length;
+
+		Object[] keys = new Object[n];
+		int[] index = new int[n];
+		for(int i = 0; i < n; i++) {
+			keys[i] = key.apply(array[i]);
+			index[i] = i;
+		}
+
+		mergeSortIndex(keys, index, new int[n], 0, n - 1);
+		permute(array, index);
+	}
+
+	/**
+	 * Map a double to a long whose signed order is the one of {@link Double#compare(double, double)}:
+	 * the bits of a negative double are flipped but the sign bit so that the larger magnitudes come first.
+	 */
+	public static long sortableBits(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Sort the keys by an LSD radix sort which carries the index of each key along.
+	 * @return	the indexes of the keys in sorted order.
+	 */
+	private static int[] radixSortIndex(long[] keys) {
+		int n = keys.length;
+		int[] index = new int[n];
+		for(int i = 0; i < n; i++) {
+			index[i] = i;
+		}
+		if(n < 2) {
+			return index;
+		}
+
+		int[][] count = Radix.histograms(keys, 0, n);
+
+		long[] sourceKeys = keys, destinationKeys = new long[n];
+		int[] sourceIndex = index, destinationIndex = new int[n];
+
+		for(int d = 0; d < Long.BYTES; d++) {
+			int[] c = count[d];
+			if(c[Radix.digit(sourceKeys[0], d)] == n) {
+				continue;
+			}
+			for(int v = 0, sum = 0; v < Radix.RADIX; v++) {
+				int k = c[v];
+				c[v] = sum;
+				sum += k;
+			}
+
+			for(int i = 0; i < n; i++) {
+				int position = c[Radix.digit(sourceKeys[i], d)]++;
+				destinationKeys[position] = sourceKeys[i];
+				destinationIndex[position] = sourceIndex[i];
+			}
+
+			long[] swapKeys = sourceKeys;
+			sourceKeys = destinationKeys;
+			destinationKeys = swapKeys;
+			int[] swapIndex = sourceIndex;
+			sourceIndex = destinationIndex;
+			destinationIndex = swapIndex;
+		}
+		return sourceIndex;
+	}
+
+	/**
+	 * Sort index[startIndex...endIndex] by the keys they point to, with a top-down merge sort.
+	 */
+	private static void mergeSortIndex(Object[] keys, int[] index, int[] temp, int startIndex, int endIndex) {
+		if((endIndex - startIndex) < INSERTIONSORT_THRESHOLD) {
+			for(int i = startIndex + 1; i <= endIndex; i++) {
+				int current = index[i];
+				int j = i;
+				while(j > startIndex && less(keys, current, index[j - 1])) {
+					index[j] = index[j - 1];
+					j--;
+				}
+				index[j] = current;
+			}
+			return;
+		}
+
+		int middle = (startIndex + endIndex) >>> 1;
+		mergeSortIndex(keys, index, temp, startIndex, middle);
+		mergeSortIndex(keys, index, temp, middle + 1, endIndex);
+
+		if(!less(keys, index[middle + 1], index[middle])) {
+			return;
+		}
+
+		System.arraycopy(index, startIndex, temp, startIndex, endIndex - startIndex + 1);
+		int i = startIndex, j = middle + 1, k = startIndex;
+		while(i <= middle && j <= endIndex) {
+			index[k++] = less(keys, temp[j], temp[i]) ? temp[j++] : temp[i++];
+		}
+		System.arraycopy(temp, i, index, k, middle - i + 1);
+	}
+
+	/**
+	 * @return	true if the key of the record i is smaller than the key of the record j.
+	 */
+	@SuppressWarnings("unchecked")
+	private static boolean less(Object[] keys, int i, int j) {
+		return ((Comparable<Object>) keys[i]).compareTo(keys[j]) < 0;
+	}
+
+	/**
+	 * Rearrange the records so that array[k] becomes the former array[index[k]].
+	 */
+	private static <T> void permute(T[] array, int[] index) {
+		T[] copy = array.clone();
+		for(int k = 0; k < index.length; k++) {
+			array[k] = copy[index[k]];
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package sorting;
 
+import java.util.Comparator;
+
 import helper.GenericHelper;
 
 public final class Merge {
@@ -10,6 +12,11 @@ public final class Merge {
 	 */
 	private static final int INSERTIONSORT_THRESHOLD = 6;
 
+	/**
+	 * Up to this size, a primitive sub-array is sorted by a {@link SortingNetwork}, the order of equal primitives being irrelevant.
+	 */
+	private static final int NETWORK_THRESHOLD = 16;
+
 	/**
 	 * See this -> 
 	 * {@link #topDownSplit(T[] originalArray, T[] tempArray, int startIndex, int endIndex) mergeSort}.
@@ -34,6 +41,19 @@ public final class Merge {
 		topDownSplit(array, (T[]) new Comparable[array.length], startIndex, endIndex);
 		return;
 	}
+
+	/**
+	 * Works like {@link #sort(Comparable[], int, int) sort} except that the caller supplies the temporary array,
+	 * so that several sub-arrays can be sorted over one shared buffer.
+	 * @param array			the array to sort of.
+	 * @param tempArray		the temporary array, at least as long as endIndex + 1.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, T[] tempArray, int startIndex, int endIndex) {
+		topDownSplit(array, tempArray, startIndex, endIndex);
+		return;
+	}
 	
 
 	/**
@@ -112,4 +132,262 @@ public final class Merge {
 		return;
 	}
 
+	/***********************************************************************
+	 * 		Primitive specializations (no boxing, no virtual compareTo).
+	 **********************************************************************/
+
+	/**
+	 * Sort the given array with the top-down merge sort, the temporary array is allocated once.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		topDownSplit(array, new int[array.length], 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex].
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(int[] array, int startIndex, int endIndex) {
+		topDownSplit(array, new int[array.length], startIndex, endIndex);
+	}
+
+	private static void topDownSplit(int[] originalArray, int[] tempArray, int startIndex, int endIndex) {
+		if((endIndex - startIndex) < NETWORK_THRESHOLD) {
+			SortingNetwork.sort(originalArray, startIndex, endIndex);
+		}else {
+			int middle = (startIndex + endIndex) >>> 1;
+			topDownSplit(originalArray, tempArray, startIndex, middle);
+			topDownSplit(originalArray, tempArray, middle+1, endIndex);
+			topDownMerge(originalArray, tempArray, startIndex, middle, endIndex);
+		}
+	}
+
+	/**
+	 * Merges two sorted sublists array[startIndex .. middle] and array[middle+1 .. endIndex].
+	 * 
+	 * @param array			the original array.
+	 * @param temp			the temporary array.
+	 * @param startIndex	the index of the first element.
+	 * @param middle		the index of the last element of the left sublist.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void topDownMerge(int[] array, int[] temp, int startIndex, int middle, int endIndex) {
+
+		// Both halves are already in order, nothing to merge.
+		if(array[middle] <= array[middle + 1]) {
+			return;
+		}
+
+		System.arraycopy(array, startIndex, temp, startIndex, endIndex - startIndex + 1);
+
+		int leftStart = startIndex, k = startIndex;
+		int rightStart = middle+1;
+
+		while(leftStart <= middle && rightStart <= endIndex) {
+			if(temp[rightStart] < temp[leftStart]) {
+				array[k++] = temp[rightStart++];
+			}else {
+				array[k++] = temp[leftStart++];
+			}
+		}
+
+		// The remaining entries of the second half are already in place.
+		while(leftStart <= middle) {
+			array[k++] = temp[leftStart++];
+		}
+	}
+
+	/**
+	 * Sort the given array with the top-down merge sort, the temporary array is allocated once.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(long[] array) {
+		topDownSplit(array, new long[array.length], 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex].
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(long[] array, int startIndex, int endIndex) {
+		topDownSplit(array, new long[array.length], startIndex, endIndex);
+	}
+
+	private static void topDownSplit(long[] originalArray, long[] tempArray, int startIndex, int endIndex) {
+		if((endIndex - startIndex) < NETWORK_THRESHOLD) {
+			SortingNetwork.sort(originalArray, startIndex, endIndex);
+		}else {
+			int middle = (startIndex + endIndex) >>> 1;
+			topDownSplit(originalArray, tempArray, startIndex, middle);
+			topDownSplit(originalArray, tempArray, middle+1, endIndex);
+			topDownMerge(originalArray, tempArray, startIndex, middle, endIndex);
+		}
+	}
+
+	/**
+	 * Merges two sorted sublists array[startIndex .. middle] and array[middle+1 .. endIndex].
+	 * 
+	 * @param array			the original array.
+	 * @param temp			the temporary array.
+	 * @param startIndex	the index of the first element.
+	 * @param middle		the index of the last element of the left sublist.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void topDownMerge(long[] array, long[] temp, int startIndex, int middle, int endIndex) {
+
+		// Both halves are already in order, nothing to merge.
+		if(array[middle] <= array[middle + 1]) {
+			return;
+		}
+
+		System.arraycopy(array, startIndex, temp, startIndex, endIndex - startIndex + 1);
+
+		int leftStart = startIndex, k = startIndex;
+		int rightStart = middle+1;
+
+		while(leftStart <= middle && rightStart <= endIndex) {
+			if(temp[rightStart] < temp[leftStart]) {
+				array[k++] = temp[rightStart++];
+			}else {
+				array[k++] = temp[leftStart++];
+			}
+		}
+
+		// The remaining entries of the second half are already in place.
+		while(leftStart <= middle) {
+			array[k++] = temp[leftStart++];
+		}
+	}
+
+	/**
+	 * Sort the given array with the top-down merge sort, the temporary array is allocated once.
+	 * NaN values are not supported since they are not ordered by {@code <}.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(double[] array) {
+		topDownSplit(array, new double[array.length], 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex].
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(double[] array, int startIndex, int endIndex) {
+		topDownSplit(array, new double[array.length], startIndex, endIndex);
+	}
+
+	private static void topDownSplit(double[] originalArray, double[] tempArray, int startIndex, int endIndex) {
+		if((endIndex - startIndex) < NETWORK_THRESHOLD) {
+			SortingNetwork.sort(originalArray, startIndex, endIndex);
+		}else {
+			int middle = (startIndex + endIndex) >>> 1;
+			topDownSplit(originalArray, tempArray, startIndex, middle);
+			topDownSplit(originalArray, tempArray, middle+1, endIndex);
+			topDownMerge(originalArray, tempArray, startIndex, middle, endIndex);
+		}
+	}
+
+	/**
+	 * Merges two sorted sublists array[startIndex .. middle] and array[middle+1 .. endIndex].
+	 * 
+	 * @param array			the original array.
+	 * @param temp			the temporary array.
+	 * @param startIndex	the index of the first element.
+	 * @param middle		the index of the last element of the left sublist.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void topDownMerge(double[] array, double[] temp, int startIndex, int middle, int endIndex) {
+
+		// Both halves are already in order, nothing to merge.
+		if(array[middle] <= array[middle + 1]) {
+			return;
+		}
+
+		System.arraycopy(array, startIndex, temp, startIndex, endIndex - startIndex + 1);
+
+		int leftStart = startIndex, k = startIndex;
+		int rightStart = middle+1;
+
+		while(leftStart <= middle && rightStart <= endIndex) {
+			if(temp[rightStart] < temp[leftStart]) {
+				array[k++] = temp[rightStart++];
+			}else {
+				array[k++] = temp[leftStart++];
+			}
+		}
+
+		// The remaining entries of the second half are already in place.
+		while(leftStart <= middle) {
+			array[k++] = temp[leftStart++];
+		}
+	}
+
+	/***********************************************************************
+	 * 		Comparator overloads (any order, no Comparable required).
+	 **********************************************************************/
+
+	/**
+	 * Works like {@link #sort(Comparable[]) sort} in the order given by the comparator, the sort is stable.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		sort(array, 0, array.length - 1, comparator);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		topDownSplit(array, array.clone(), startIndex, endIndex, comparator);
+	}
+
+	private static <T> void topDownSplit(T[] originalArray, T[] tempArray, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		if((endIndex - startIndex) < INSERTIONSORT_THRESHOLD) {
+			Insertion.optimizedSort(originalArray, startIndex, endIndex, comparator);
+		}else {
+			int middle = (startIndex + endIndex) >>> 1;
+			topDownSplit(originalArray, tempArray, startIndex, middle, comparator);
+			topDownSplit(originalArray, tempArray, middle + 1, endIndex, comparator);
+			topDownMerge(originalArray, tempArray, startIndex, middle, endIndex, comparator);
+		}
+	}
+
+	/**
+	 * Works like {@link #topDownMerge(Comparable[], Comparable[], int, int, int) topDownMerge} in the order given by the comparator.
+	 */
+	public static <T> void topDownMerge(T[] array, T[] temp, int startIndex, int middle, int endIndex, Comparator<? super T> comparator) {
+
+		// the two halves are already in order.
+		if(!GenericHelper.isLess(array[middle + 1], array[middle], comparator)) {
+			return;
+		}
+
+		System.arraycopy(array, startIndex, temp, startIndex, endIndex - startIndex + 1);
+
+		int leftStart = startIndex, k = startIndex;
+		int rightStart = middle + 1;
+
+		while(leftStart <= middle && rightStart <= endIndex) {
+			if(GenericHelper.isLess(temp[rightStart], temp[leftStart], comparator)){
+				array[k++] = temp[rightStart++];
+			}else {
+				array[k++] = temp[leftStart++];
+			}
+		}
+
+		// the rest of the second half is already in place.
+		System.arraycopy(temp, leftStart, array, k, middle - leftStart + 1);
+	}
 }
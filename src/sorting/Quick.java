@@ -1,6 +1,8 @@
 package sorting;
 
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import helper.GenericHelper;
 
@@ -11,10 +13,25 @@ public final class Quick {
 	 */
 	private static final int INSERTIONSORT_THRESHOLD = 6;
 
+	/**
+	 * Up to this size, a primitive sub-array is sorted by a {@link SortingNetwork}.
+	 */
+	private static final int NETWORK_THRESHOLD = 16;
+
 	public static <T extends Comparable<? super T>> void sort(T[] a) {
 		quicksort3Way(a, 0, a.length - 1);
 	}
 
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning.
+	 * @param a				the array to be sorted.
+	 * @param startIndex	the first index of the sub-array.
+	 * @param endIndex		the last index of the sub-array.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] a, int startIndex, int endIndex) {
+		quicksort3Way(a, startIndex, endIndex);
+	}
+
 	/**
 	 * 
 	 * @param array
@@ -37,19 +54,20 @@ public final class Quick {
 	}
 
 	/**
-	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning.</br>
+	 * The pivot is the median of the first, middle and last elements and the recursion always
+	 * goes into the smaller part so that the stack stays logarithmic.
 	 * @param a				the sub-array to be sorted
 	 * @param startIndex	the first index of this sub-array.
 	 * @param endIndex		the last index of this sub-array.
 	 */
 	private static <T extends Comparable<? super T>> void quicksort3Way(T[] a, int startIndex, int endIndex) {
-		if (endIndex <= startIndex) {
-			return;
-		}else {
+		while((endIndex - startIndex) >= INSERTIONSORT_THRESHOLD) {
+			medianOfThree(a, startIndex, startIndex + (endIndex - startIndex) / 2, endIndex);
 			int lt = startIndex;
 			int gt = endIndex;
 			T pivot = a[startIndex];
-			int i = startIndex;
+			int i = startIndex + 1;
 			while (i <= gt) {
 				int cmp = a[i].compareTo(pivot);
 				if(cmp < 0) {
@@ -60,9 +78,94 @@ public final class Quick {
 					i++;
 				}
 			}
-			System.out.println(pivot);
-			quicksort3Way(a, startIndex, lt-1);
-			quicksort3Way(a, gt+1, endIndex);
+			if((lt - startIndex) < (endIndex - gt)) {
+				quicksort3Way(a, startIndex, lt - 1);
+				startIndex = gt + 1;
+			}else {
+				quicksort3Way(a, gt + 1, endIndex);
+				endIndex = lt - 1;
+			}
+		}
+		Insertion.optimizedSort(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Move the median of a[first], a[middle] and a[last] to a[first].
+	 */
+	private static <T extends Comparable<? super T>> void medianOfThree(T[] a, int first, int middle, int last) {
+		if(GenericHelper.isLess(a[first], a[middle])) {
+			GenericHelper.swap(a, first, middle);
+		}
+		if(GenericHelper.isLess(a[last], a[first])) {
+			GenericHelper.swap(a, first, last);
+			if(GenericHelper.isLess(a[first], a[middle])) {
+				GenericHelper.swap(a, first, middle);
+			}
+		}
+	}
+
+	/**
+	 * Find the k-th smallest element (counting from 0) in expected linear time.</br>
+	 * The array is rearranged so that a[k] is the element it would hold if the array were sorted,
+	 * no element of a[0..k-1] being greater than it and no element of a[k+1..] smaller.
+	 * @param a		the array to select from.
+	 * @param k		the rank of the element.
+	 * @return		the k-th smallest element.
+	 */
+	public static <T extends Comparable<? super T>> T select(T[] a, int k) {
+		if(k < 0 || k >= a.length) {
+			throw new IllegalArgumentException("The rank " + k + " is not within [0, " + a.length + ")");
+		}
+
+		int startIndex = 0, endIndex = a.length - 1;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		while(endIndex > startIndex) {
+			// a random pivot defeats sorted inputs and the 3-way partition handles the duplicates in one pass.
+			GenericHelper.swap(a, startIndex, random.nextInt(startIndex, endIndex + 1));
+			T pivot = a[startIndex];
+			int lt = startIndex, gt = endIndex, i = startIndex + 1;
+			while(i <= gt) {
+				int cmp = a[i].compareTo(pivot);
+				if(cmp < 0) {
+					GenericHelper.swap(a, lt++, i++);
+				}else if(cmp > 0) {
+					GenericHelper.swap(a, i, gt--);
+				}else {
+					i++;
+				}
+			}
+
+			if(k < lt) {
+				endIndex = lt - 1;
+			}else if(k > gt) {
+				startIndex = gt + 1;
+			}else {
+				return a[k];
+			}
+		}
+		return a[k];
+	}
+
+	/**
+	 * Rearrange the array so that a[0..k-1] are its k smallest elements in order, in O(n + k log k).</br>
+	 * The order of the other elements is left unspecified.
+	 * @param a		the array to be partially sorted.
+	 * @param k		the number of smallest elements to be sorted.
+	 */
+	public static <T extends Comparable<? super T>> void partialSort(T[] a, int k) {
+		if(k < 0 || k > a.length) {
+			throw new IllegalArgumentException("Can't sort the " + k + " smallest elements of " + a.length);
+		}
+		if(k == 0) {
+			return;
+		}
+		if(k < a.length) {
+			// a[k-1] is then in place, only the smaller elements before it remain to be sorted.
+			select(a, k - 1);
+			quicksort3Way(a, 0, k - 2);
+		}else {
+			quicksort3Way(a, 0, k - 1);
 		}
 	}
 
@@ -118,7 +221,7 @@ public final class Quick {
 		T pivot = a[endIndex];
 		int i = startIndex;
 		
-		for(int j = startIndex; j < endIndex - 1; j++) {
+		for(int j = startIndex; j < endIndex; j++) {
 			if(GenericHelper.isLess(a[j], pivot)) {
 				GenericHelper.swap(a, i++, j);
 			}
@@ -126,4 +229,281 @@ public final class Quick {
 		GenericHelper.swap(a, i, endIndex);
 		return i;
 	}
+
+	/***********************************************************************
+	 * 		Primitive specializations (no boxing, no virtual compareTo).
+	 **********************************************************************/
+
+	/**
+	 * Sort the given array using 3-way partitioning without boxing its elements.
+	 * @param a	the array to be sorted.
+	 */
+	public static void sort(int[] a) {
+		quicksort3Way(a, 0, a.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning without boxing its elements.
+	 * @param a				the array to be sorted.
+	 * @param startIndex	the first index of the sub-array.
+	 * @param endIndex		the last index of the sub-array.
+	 */
+	public static void sort(int[] a, int startIndex, int endIndex) {
+		quicksort3Way(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning.</br>
+	 * The pivot is the median of the first, middle and last elements and the recursion always
+	 * goes into the smaller part so that the stack stays logarithmic.
+	 * @param a				the sub-array to be sorted
+	 * @param startIndex	the first index of this sub-array.
+	 * @param endIndex		the last index of this sub-array.
+	 */
+	private static void quicksort3Way(int[] a, int startIndex, int endIndex) {
+		while((endIndex - startIndex) >= NETWORK_THRESHOLD) {
+			medianOfThree(a, startIndex, startIndex + (endIndex - startIndex) / 2, endIndex);
+			int lt = startIndex;
+			int gt = endIndex;
+			int pivot = a[startIndex];
+			int i = startIndex + 1;
+			while (i <= gt) {
+				int value = a[i];
+				if(value < pivot) {
+					a[i++] = a[lt];
+					a[lt++] = value;
+				}else if (value > pivot) {
+					a[i] = a[gt];
+					a[gt--] = value;
+				}else {
+					i++;
+				}
+			}
+			if((lt - startIndex) < (endIndex - gt)) {
+				quicksort3Way(a, startIndex, lt - 1);
+				startIndex = gt + 1;
+			}else {
+				quicksort3Way(a, gt + 1, endIndex);
+				endIndex = lt - 1;
+			}
+		}
+		SortingNetwork.sort(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Move the median of a[first], a[middle] and a[last] to a[first].
+	 */
+	private static void medianOfThree(int[] a, int first, int middle, int last) {
+		if(a[first] < a[middle]) {
+			GenericHelper.swap(a, first, middle);
+		}
+		if(a[last] < a[first]) {
+			GenericHelper.swap(a, first, last);
+			if(a[first] < a[middle]) {
+				GenericHelper.swap(a, first, middle);
+			}
+		}
+	}
+
+	/**
+	 * Sort the given array using 3-way partitioning without boxing its elements.
+	 * @param a	the array to be sorted.
+	 */
+	public static void sort(long[] a) {
+		quicksort3Way(a, 0, a.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning without boxing its elements.
+	 * @param a				the array to be sorted.
+	 * @param startIndex	the first index of the sub-array.
+	 * @param endIndex		the last index of the sub-array.
+	 */
+	public static void sort(long[] a, int startIndex, int endIndex) {
+		quicksort3Way(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning.</br>
+	 * The pivot is the median of the first, middle and last elements and the recursion always
+	 * goes into the smaller part so that the stack stays logarithmic.
+	 * @param a				the sub-array to be sorted
+	 * @param startIndex	the first index of this sub-array.
+	 * @param endIndex		the last index of this sub-array.
+	 */
+	private static void quicksort3Way(long[] a, int startIndex, int endIndex) {
+		while((endIndex - startIndex) >= NETWORK_THRESHOLD) {
+			medianOfThree(a, startIndex, startIndex + (endIndex - startIndex) / 2, endIndex);
+			int lt = startIndex;
+			int gt = endIndex;
+			long pivot = a[startIndex];
+			int i = startIndex + 1;
+			while (i <= gt) {
+				long value = a[i];
+				if(value < pivot) {
+					a[i++] = a[lt];
+					a[lt++] = value;
+				}else if (value > pivot) {
+					a[i] = a[gt];
+					a[gt--] = value;
+				}else {
+					i++;
+				}
+			}
+			if((lt - startIndex) < (endIndex - gt)) {
+				quicksort3Way(a, startIndex, lt - 1);
+				startIndex = gt + 1;
+			}else {
+				quicksort3Way(a, gt + 1, endIndex);
+				endIndex = lt - 1;
+			}
+		}
+		SortingNetwork.sort(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Move the median of a[first], a[middle] and a[last] to a[first].
+	 */
+	private static void medianOfThree(long[] a, int first, int middle, int last) {
+		if(a[first] < a[middle]) {
+			GenericHelper.swap(a, first, middle);
+		}
+		if(a[last] < a[first]) {
+			GenericHelper.swap(a, first, last);
+			if(a[first] < a[middle]) {
+				GenericHelper.swap(a, first, middle);
+			}
+		}
+	}
+
+	/**
+	 * Sort the given array using 3-way partitioning without boxing its elements.
+	 * NaN values are not supported since they are not ordered by {@code <}.
+	 * @param a	the array to be sorted.
+	 */
+	public static void sort(double[] a) {
+		quicksort3Way(a, 0, a.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning without boxing its elements.
+	 * @param a				the array to be sorted.
+	 * @param startIndex	the first index of the sub-array.
+	 * @param endIndex		the last index of the sub-array.
+	 */
+	public static void sort(double[] a, int startIndex, int endIndex) {
+		quicksort3Way(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Sort the sub-array a[startIndex...endIndex] using 3-way partitioning.</br>
+	 * The pivot is the median of the first, middle and last elements and the recursion always
+	 * goes into the smaller part so that the stack stays logarithmic.
+	 * @param a				the sub-array to be sorted
+	 * @param startIndex	the first index of this sub-array.
+	 * @param endIndex		the last index of this sub-array.
+	 */
+	private static void quicksort3Way(double[] a, int startIndex, int endIndex) {
+		while((endIndex - startIndex) >= NETWORK_THRESHOLD) {
+			medianOfThree(a, startIndex, startIndex + (endIndex - startIndex) / 2, endIndex);
+			int lt = startIndex;
+			int gt = endIndex;
+			double pivot = a[startIndex];
+			int i = startIndex + 1;
+			while (i <= gt) {
+				double value = a[i];
+				if(value < pivot) {
+					a[i++] = a[lt];
+					a[lt++] = value;
+				}else if (value > pivot) {
+					a[i] = a[gt];
+					a[gt--] = value;
+				}else {
+					i++;
+				}
+			}
+			if((lt - startIndex) < (endIndex - gt)) {
+				quicksort3Way(a, startIndex, lt - 1);
+				startIndex = gt + 1;
+			}else {
+				quicksort3Way(a, gt + 1, endIndex);
+				endIndex = lt - 1;
+			}
+		}
+		SortingNetwork.sort(a, startIndex, endIndex);
+	}
+
+	/**
+	 * Move the median of a[first], a[middle] and a[last] to a[first].
+	 */
+	private static void medianOfThree(double[] a, int first, int middle, int last) {
+		if(a[first] < a[middle]) {
+			GenericHelper.swap(a, first, middle);
+		}
+		if(a[last] < a[first]) {
+			GenericHelper.swap(a, first, last);
+			if(a[first] < a[middle]) {
+				GenericHelper.swap(a, first, middle);
+			}
+		}
+	}
+
+	/***********************************************************************
+	 * 		Comparator overloads (any order, no Comparable required).
+	 **********************************************************************/
+
+	/**
+	 * Sort the given array using 3-way partitioning in the order given by the comparator.
+	 * @param a				the array to be sorted.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] a, Comparator<? super T> comparator) {
+		quicksort3Way(a, 0, a.length - 1, comparator);
+	}
+
+	/**
+	 * Works like {@link #quicksort3Way(int[], int, int) quicksort3Way} in the order given by the comparator.
+	 */
+	private static <T> void quicksort3Way(T[] a, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		while((endIndex - startIndex) >= INSERTIONSORT_THRESHOLD) {
+			medianOfThree(a, startIndex, startIndex + (endIndex - startIndex) / 2, endIndex, comparator);
+			int lt = startIndex;
+			int gt = endIndex;
+			T pivot = a[startIndex];
+			int i = startIndex + 1;
+			while (i <= gt) {
+				int cmp = comparator.compare(a[i], pivot);
+				if(cmp < 0) {
+					GenericHelper.swap(a, lt++, i++);
+				}else if (cmp > 0) {
+					GenericHelper.swap(a, i, gt--);
+				}else {
+					i++;
+				}
+			}
+			if((lt - startIndex) < (endIndex - gt)) {
+				quicksort3Way(a, startIndex, lt - 1, comparator);
+				startIndex = gt + 1;
+			}else {
+				quicksort3Way(a, gt + 1, endIndex, comparator);
+				endIndex = lt - 1;
+			}
+		}
+		Insertion.optimizedSort(a, startIndex, endIndex, comparator);
+	}
+
+	/**
+	 * Move the median of a[first], a[middle] and a[last] to a[first].
+	 */
+	private static <T> void medianOfThree(T[] a, int first, int middle, int last, Comparator<? super T> comparator) {
+		if(GenericHelper.isLess(a[first], a[middle], comparator)) {
+			GenericHelper.swap(a, first, middle);
+		}
+		if(GenericHelper.isLess(a[last], a[first], comparator)) {
+			GenericHelper.swap(a, first, last);
+			if(GenericHelper.isLess(a[first], a[middle], comparator)) {
+				GenericHelper.swap(a, first, middle);
+			}
+		}
+	}
 }
@@ -0,0 +1,258 @@
+package sorting;
+
+/**
+ * Radix sorts: instead of comparing keys, the keys are distributed by their digits with a counting pass.</br></br>
+ *
+ * <ul>
+ * <li>The int and long keys are sorted by a least-significant-digit radix sort on 8-bit digits.
+ * The histograms of all digits are counted in one pass over the input, and a digit which is the same for every key is skipped.
+ * The sign bit is flipped in the most significant digit so that the negative keys come first.</li>
+ * <li>The strings are sorted by a most-significant-digit radix sort on their chars:
+ * the strings are distributed by their d-th char then each bucket is sorted on the next char,
+ * small buckets being sorted by {@link Insertion}.</li>
+ * </ul>
+ * Both sorts are stable and use an auxiliary array as long as the input.
+ *
+ * @see <a href="https://algs4.cs.princeton.edu/51radix/">Radix Sorts</a>
+ * @author Njoyim Peguy
+ *
+ */
+public final class Radix {
+
+	/**
+	 * The number of bits of a digit.
+	 */
+	public static final int DIGIT_BITS = 8;
+
+	/**
+	 * The number of values of a digit.
+	 */
+	public static final int RADIX = 1 << DIGIT_BITS;
+
+	private static final int DIGIT_MASK = RADIX - 1;
+
+	/**
+	 * The bit of the most significant digit holding the sign.
+	 */
+	private static final int SIGN_BIT = RADIX >>> 1;
+
+	/**
+	 * Below this size, an array of integers is sorted by insertion.
+	 */
+	private static final int INSERTIONSORT_THRESHOLD = 64;
+
+	/**
+	 * Below this size, a bucket of strings is sorted by insertion.
+	 */
+	private static final int STRING_INSERTIONSORT_THRESHOLD = 15;
+
+	/**
+	 * The chars are distributed into RADIX buckets: the chars from RADIX - 1 upwards share the last one,
+	 * which is then sorted by comparison rather than digit by digit.
+	 */
+	private static final int WIDE_CHAR = RADIX - 1;
+
+	private Radix() {
+		super();
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		if(array.length < INSERTIONSORT_THRESHOLD) {
+			Insertion.optimizedSort(array);
+			return;
+		}
+
+		int[][] count = histograms(array, 0, array.length);
+
+		int[] source = array, destination = new int[array.length];
+		for(int d = 0; d < Integer.BYTES; d++) {
+			if(!distribute(count[d], array.length, digit(source[0], d))) {
+				continue;
+			}
+			for(int x : source) {
+				destination[count[d][digit(x, d)]++] = x;
+			}
+			int[] swap = source;
+			source = destination;
+			destination = swap;
+		}
+
+		if(source != array) {
+			System.arraycopy(source, 0, array, 0, array.length);
+		}
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(long[] array) {
+		if(array.length < INSERTIONSORT_THRESHOLD) {
+			Insertion.optimizedSort(array);
+			return;
+		}
+
+		int[][] count = histograms(array, 0, array.length);
+
+		long[] source = array, destination = new long[array.length];
+		for(int d = 0; d < Long.BYTES; d++) {
+			if(!distribute(count[d], array.length, digit(source[0], d))) {
+				continue;
+			}
+			for(long x : source) {
+				destination[count[d][digit(x, d)]++] = x;
+			}
+			long[] swap = source;
+			source = destination;
+			destination = swap;
+		}
+
+		if(source != array) {
+			System.arraycopy(source, 0, array, 0, array.length);
+		}
+	}
+
+	/**
+	 * Count the occurrences of every digit of array[from .. to-1].
+	 * @return	count[d][v], the number of keys whose d-th digit is v.
+	 */
+	public static int[][] histograms(int[] array, int from, int to) {
+		int[][] count = new int[Integer.BYTES][RADIX];
+		for(int i = from; i < to; i++) {
+			int x = array[i];
+			for(int d = 0; d < Integer.BYTES; d++) {
+				count[d][digit(x, d)]++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Count the occurrences of every digit of array[from .. to-1].
+	 * @return	count[d][v], the number of keys whose d-th digit is v.
+	 */
+	public static int[][] histograms(long[] array, int from, int to) {
+		int[][] count = new int[Long.BYTES][RADIX];
+		for(int i = from; i < to; i++) {
+			long x = array[i];
+			for(int d = 0; d < Long.BYTES; d++) {
+				count[d][digit(x, d)]++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Turn the histogram of a digit into the index of the first key of each bucket.
+	 * @param count		the histogram of the d-th digit.
+	 * @param n			the number of keys.
+	 * @param anyDigit	the digit of any of the keys.
+	 * @return			false if all the keys have the same digit, so that the pass can be skipped.
+	 */
+	private static boolean distribute(int[] count, int n, int anyDigit) {
+		if(count[anyDigit] == n) {
+			return false;
+		}
+
+		for(int v = 0, sum = 0; v < RADIX; v++) {
+			int c = count[v];
+			count[v] = sum;
+			sum += c;
+		}
+		return true;
+	}
+
+	/**
+	 * @return	the d-th digit of the key from the least significant one, whose sign is flipped if it is the most significant one.
+	 */
+	public static int digit(int key, int d) {
+		int v = (key >>> (d * DIGIT_BITS)) & DIGIT_MASK;
+		return d == Integer.BYTES - 1 ? v ^ SIGN_BIT : v;
+	}
+
+	/**
+	 * @return	the d-th digit of the key from the least significant one, whose sign is flipped if it is the most significant one.
+	 */
+	public static int digit(long key, int d) {
+		int v = (int) (key >>> (d * DIGIT_BITS)) & DIGIT_MASK;
+		return d == Long.BYTES - 1 ? v ^ SIGN_BIT : v;
+	}
+
+	/***********************************************************************
+	 * 		Strings (most significant digit first).
+	 **********************************************************************/
+
+	/**
+	 * Sort the given array of strings in the order of {@link String#compareTo(String)}.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(String[] array) {
+		sort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] of strings in the order of {@link String#compareTo(String)}.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(String[] array, int startIndex, int endIndex) {
+		if(endIndex <= startIndex) {
+			return;
+		}
+		msd(array, new String[endIndex - startIndex + 1], startIndex, endIndex + 1, 0);
+	}
+
+	/**
+	 * Sort a[from .. to-1] whose strings have the same first d chars.
+	 * @param aux	the auxiliary array, aux[i - from] standing for a[i].
+	 */
+	private static void msd(String[] a, String[] aux, int from, int to, int d) {
+
+		if(to - from <= STRING_INSERTIONSORT_THRESHOLD) {
+			// the common prefix costs a few extra comparisons at most.
+			Insertion.optimizedSort(a, from, to - 1);
+			return;
+		}
+
+		// count[c + 2] is the size of the bucket of the char c, the bucket -1 being the strings of length d.
+		int[] count = new int[RADIX + 2];
+		for(int i = from; i < to; i++) {
+			count[charAt(a[i], d) + 2]++;
+		}
+
+		for(int r = 0; r < RADIX + 1; r++) {
+			count[r + 1] += count[r];
+		}
+
+		for(int i = from; i < to; i++) {
+			aux[count[charAt(a[i], d) + 1]++] = a[i];
+		}
+
+		System.arraycopy(aux, 0, a, from, to - from);
+
+		// count[c + 1] is now the end of the bucket of the char c, the strings of length d are already sorted.
+		for(int r = 0; r < WIDE_CHAR; r++) {
+			int bucketFrom = from + count[r], bucketTo = from + count[r + 1];
+			if(bucketTo - bucketFrom > 1) {
+				msd(a, aux, bucketFrom, bucketTo, d + 1);
+			}
+		}
+
+		int wideFrom = from + count[WIDE_CHAR], wideTo = from + count[WIDE_CHAR + 1];
+		if(wideTo - wideFrom > 1) {
+			Intro.sort(a, wideFrom, wideTo - 1);
+		}
+	}
+
+	/**
+	 * @return	the d-th char of the string or -1 if it is too short, the wide chars being merged into {@link #WIDE_CHAR}.
+	 */
+	private static int charAt(String s, int d) {
+		return d < s.length() ? Math.min(s.charAt(d), WIDE_CHAR) : -1;
+	}
+}
@@ -1,5 +1,7 @@
 package sorting;
 
+import java.util.Comparator;
+
 import helper.GenericHelper;
 
 public class Selection{
@@ -38,4 +40,26 @@ public class Selection{
 		assert  GenericHelper.isSorted(array);
 		
 	}
+
+	/**
+	 * Works like {@link #sort(Comparable[]) sort} in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		int N = array.length;
+
+		for (int j = 0; j < N-1; j++){
+			int iMin = j;
+			for (int i = j+1; i < N; i++){
+				if (GenericHelper.isLess(array[i], array[iMin], comparator)){
+					iMin = i;
+				}
+			}
+
+			if (iMin != j){
+				GenericHelper.swap(array, j, iMin);
+			}
+		}
+	}
 }
@@ -2,6 +2,7 @@ package sorting;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 
 import helper.GenericHelper;
 
@@ -29,7 +30,6 @@ public class Shell {
 			for(int i = gap; i < N; i++) {
 				//shift earlier gap-sorted elements up until the correct location for a[i] is found
 				for(int j = i; j >= gap && GenericHelper.isLess(array[j], array[j-gap]); j-=gap) {
-					System.out.println(j);
 					GenericHelper.swap(array, j, j-gap);
 				}
 			}
@@ -80,4 +80,113 @@ public class Shell {
 
 		return;
 	}
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * The 3x+1 gaps are computed on the fly instead of being stored in a list.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(int[] array) {
+		int N = array.length;
+
+		int h = 1;
+		while (h < N/3) {
+			h = 3*h + 1;
+		}
+
+		for(; h >= 1; h /= 3) {
+			for(int i = h; i < N; i++) {
+				int temp = array[i];
+				int j = i;
+				while(j >= h && temp < array[j-h]) {
+					array[j] = array[j-h];
+					j-=h;
+				}
+				array[j] = temp;
+			}
+		}
+	}
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * The 3x+1 gaps are computed on the fly instead of being stored in a list.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(long[] array) {
+		int N = array.length;
+
+		int h = 1;
+		while (h < N/3) {
+			h = 3*h + 1;
+		}
+
+		for(; h >= 1; h /= 3) {
+			for(int i = h; i < N; i++) {
+				long temp = array[i];
+				int j = i;
+				while(j >= h && temp < array[j-h]) {
+					array[j] = array[j-h];
+					j-=h;
+				}
+				array[j] = temp;
+			}
+		}
+	}
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} on a primitive array.
+	 * The 3x+1 gaps are computed on the fly instead of being stored in a list.
+	 * NaN values are not supported since they are not ordered by {@code <}.
+	 * @param array	the array to sort of.
+	 */
+	public static void sort(double[] array) {
+		int N = array.length;
+
+		int h = 1;
+		while (h < N/3) {
+			h = 3*h + 1;
+		}
+
+		for(; h >= 1; h /= 3) {
+			for(int i = h; i < N; i++) {
+				double temp = array[i];
+				int j = i;
+				while(j >= h && temp < array[j-h]) {
+					array[j] = array[j-h];
+					j-=h;
+				}
+				array[j] = temp;
+			}
+		}
+	}
+
+	/***********************************************************************
+	 * 		Comparator overloads (any order, no Comparable required).
+	 **********************************************************************/
+
+	/**
+	 * Works like {@link #optimizedSort(Comparable[]) optimizedSort} in the order given by the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		int N = array.length;
+
+		int h = 1;
+		while (h < N/3) {
+			h = 3*h + 1;
+		}
+
+		for(int gap = h; gap >= 1; gap /= 3) {
+			for(int i = gap; i < N; i++) {
+				T temp = array[i];
+				int j = i;
+				while(j >= gap && GenericHelper.isLess(temp, array[j-gap], comparator)) {
+					array[j] = array[j-gap];
+					j-=gap;
+				}
+				array[j] = temp;
+			}
+		}
+	}
 }
@@ -0,0 +1,136 @@
+package sorting;
+
+/**
+ * Sorting networks for the small sub-arrays of 2 to 32 elements left at the bottom of the recursive sorts.</br></br>
+ *
+ * A sorting network is a fixed sequence of compare-exchanges which sorts any input of its size.
+ * Since the sequence does not depend on the data, each compare-exchange is written with {@link Math#min(int, int) min}
+ * and {@link Math#max(int, int) max} which the JIT compiles to conditional moves:
+ * unlike {@link Insertion} there is no branch to mispredict on random data.</br>
+ * The networks are Batcher's odd-even merge sorts, computed once for each size.
+ * Like the networks themselves, these sorts are not stable, which does not matter for primitive keys.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Batcher_odd%E2%80%93even_mergesort">Batcher odd-even mergesort</a>
+ * @author Njoyim Peguy
+ *
+ */
+public final class SortingNetwork {
+
+	/**
+	 * The largest size a network is provided for.
+	 */
+	public static final int MAX_SIZE = 32;
+
+	/**
+	 * NETWORKS[n] holds the pairs of indexes to be compare-exchanged one after the other to sort n elements.
+	 */
+	private static final int[][] NETWORKS = new int[MAX_SIZE + 1][];
+
+	static {
+		for(int n = 0; n <= MAX_SIZE; n++) {
+			NETWORKS[n] = oddEvenMergeSort(n);
+		}
+	}
+
+	private SortingNetwork() {
+		super();
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] of at most {@link #MAX_SIZE} elements.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(int[] array, int startIndex, int endIndex) {
+		int[] network = network(startIndex, endIndex);
+		for(int k = 0; k < network.length; k += 2) {
+			int i = startIndex + network[k], j = startIndex + network[k + 1];
+			int x = array[i], y = array[j];
+			array[i] = Math.min(x, y);
+			array[j] = Math.max(x, y);
+		}
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] of at most {@link #MAX_SIZE} elements.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(long[] array, int startIndex, int endIndex) {
+		int[] network = network(startIndex, endIndex);
+		for(int k = 0; k < network.length; k += 2) {
+			int i = startIndex + network[k], j = startIndex + network[k + 1];
+			long x = array[i], y = array[j];
+			array[i] = Math.min(x, y);
+			array[j] = Math.max(x, y);
+		}
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] of at most {@link #MAX_SIZE} elements.</br>
+	 * As for {@link Insertion#optimizedSort(double[]) Insertion}, the elements are ordered by {@code <}:
+	 * NaN values are kept but not ordered. That is why {@link Math#min(double, double)} can't be used here, it would duplicate a NaN.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static void sort(double[] array, int startIndex, int endIndex) {
+		int[] network = network(startIndex, endIndex);
+		for(int k = 0; k < network.length; k += 2) {
+			int i = startIndex + network[k], j = startIndex + network[k + 1];
+			double x = array[i], y = array[j];
+			boolean swap = y < x;
+			array[i] = swap ? y : x;
+			array[j] = swap ? x : y;
+		}
+	}
+
+	/**
+	 * @return	the number of compare-exchanges of the network sorting n elements.
+	 */
+	public static int size(int n) {
+		return NETWORKS[n].length / 2;
+	}
+
+	/**
+	 * @return	the network sorting array[startIndex...endIndex].
+	 */
+	private static int[] network(int startIndex, int endIndex) {
+		int n = endIndex - startIndex + 1;
+		if(n > MAX_SIZE) {
+			throw new IllegalArgumentException("No sorting network for " + n + " elements, the maximum is " + MAX_SIZE);
+		}
+		return NETWORKS[Math.max(n, 0)];
+	}
+
+	/**
+	 * Build Batcher's odd-even merge sort network for n elements: runs of p sorted elements are merged pairwise
+	 * for p = 1, 2, 4... each merge comparing the elements k apart for k = p, p/2, ..., 1.
+	 * The compare-exchanges reaching beyond n are left out, as if the missing elements were infinite.
+	 * @return	the pairs of indexes to be compare-exchanged, flattened.
+	 */
+	private static int[] oddEvenMergeSort(int n) {
+		int[] pairs = new int[2 * n * n];
+		int size = 0;
+
+		for(int p = 1; p < n; p <<= 1) {
+			for(int k = p; k >= 1; k >>= 1) {
+				for(int j = k % p; j + k < n; j += 2 * k) {
+					for(int i = 0; i < k && i + j + k < n; i++) {
+						// both elements must belong to the same pair of runs being merged.
+						if((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+							pairs[size++] = i + j;
+							pairs[size++] = i + j + k;
+						}
+					}
+				}
+			}
+		}
+
+		int[] network = new int[size];
+		System.arraycopy(pairs, 0, network, 0, size);
+		return network;
+	}
+}
@@ -0,0 +1,480 @@
+package sorting;
+
+import java.util.Comparator;
+
+/**
+ * A natural merge sort in the style of TimSort: instead of splitting the array blindly like {@link Merge},
+ * it merges the runs which are already in the input.</br></br>
+ *
+ * <ul>
+ * <li>The array is scanned from left to right for runs: an ascending run is kept as is, a strictly descending one is reversed.
+ * A run shorter than the minimum run length is extended by {@link Insertion#optimizedSort(Comparable[], int, int) insertion}.</li>
+ * <li>The runs are pushed on a stack whose lengths are kept decreasing at least as fast as the Fibonacci numbers,
+ * so that merges stay balanced and the stack logarithmic.</li>
+ * <li>A merge copies only the shorter run aside, skips the prefix and suffix which are already in place,
+ * and switches to galloping (exponential search) when one run keeps winning.</li>
+ * </ul>
+ * An already sorted array, or a sorted array with a few elements appended, is thus sorted in about n comparisons.
+ * The sort is stable. It orders the elements either naturally or by a {@link Comparator}.
+ *
+ * @see <a href="https://github.com/python/cpython/blob/main/Objects/listsort.txt">listsort.txt</a>
+ * @author Njoyim Peguy
+ *
+ */
+public final class Tim<T> {
+
+	/**
+	 * Below this size, the array is sorted by insertion without looking for runs.
+	 * The minimum run length lies between half of it and it.
+	 */
+	private static final int MIN_MERGE = 32;
+
+	/**
+	 * The number of consecutive wins of one run after which a merge starts galloping.
+	 */
+	private static final int MIN_GALLOP = 7;
+
+	/**
+	 * The maximum number of pending runs: since the lengths grow at least like the Fibonacci numbers, it is enough for any int length.
+	 */
+	private static final int MAX_PENDING_RUNS = 49;
+
+	private final T[] array;
+
+	private final Comparator<? super T> comparator;
+
+	/**
+	 * The copy of the shorter run of a merge, allocated at the first merge.
+	 */
+	private T[] tmp;
+
+	/**
+	 * Adapted along the merges: it gets lower while galloping pays off and higher otherwise.
+	 */
+	private int minGallop = MIN_GALLOP;
+
+	/**
+	 * The stack of pending runs: the run i starts at runBase[i] and has runLength[i] elements.
+	 */
+	private final int[] runBase = new int[MAX_PENDING_RUNS], runLength = new int[MAX_PENDING_RUNS];
+
+	private int stackSize = 0;
+
+	private Tim(T[] array, Comparator<? super T> comparator) {
+		this.array = array;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Sort the given array.
+	 * @param array	the array to sort of.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array) {
+		sort(array, 0, array.length - 1);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex].
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 */
+	public static <T extends Comparable<? super T>> void sort(T[] array, int startIndex, int endIndex) {
+		sort(array, startIndex, endIndex, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Sort the given array in the order of the comparator.
+	 * @param array			the array to sort of.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		sort(array, 0, array.length - 1, comparator);
+	}
+
+	/**
+	 * Sort the sub-array array[startIndex...endIndex] in the order of the comparator.
+	 * @param array			the array to sort of.
+	 * @param startIndex	the index of the first element.
+	 * @param endIndex		the index of the last element.
+	 * @param comparator	the ordering to be used.
+	 */
+	public static <T> void sort(T[] array, int startIndex, int endIndex, Comparator<? super T> comparator) {
+		int remaining = endIndex - startIndex + 1;
+		if(remaining < 2) {
+			return;
+		}
+
+		if(remaining < MIN_MERGE) {
+			countRunAndMakeAscending(array, startIndex, endIndex + 1, comparator);
+			Insertion.optimizedSort(array, startIndex, endIndex, comparator);
+			return;
+		}
+
+		Tim<T> tim = new Tim<>(array, comparator);
+		int minRun = minRunLength(remaining);
+		int lo = startIndex;
+
+		do {
+			int run = countRunAndMakeAscending(array, lo, endIndex + 1, comparator);
+
+			// the elements of the run are already sorted, so the insertion sort only pays for the new ones.
+			if(run < minRun) {
+				int forced = Math.min(remaining, minRun);
+				Insertion.optimizedSort(array, lo, lo + forced - 1, comparator);
+				run = forced;
+			}
+
+			tim.pushRun(lo, run);
+			tim.mergeCollapse();
+
+			lo += run;
+			remaining -= run;
+		}while(remaining != 0);
+
+		tim.mergeForceCollapse();
+	}
+
+	/**
+	 * Find the length of the run starting at a[lo] and reverse it if it is strictly descending
+	 * (strictly, so that reversing does not break the stability).
+	 * @return	the length of the run within a[lo .. hi-1].
+	 */
+	private static <T> int countRunAndMakeAscending(T[] a, int lo, int hi, Comparator<? super T> comparator) {
+		int runHi = lo + 1;
+		if(runHi == hi) {
+			return 1;
+		}
+
+		if(comparator.compare(a[runHi++], a[lo]) < 0) {
+			while(runHi < hi && comparator.compare(a[runHi], a[runHi - 1]) < 0) {
+				runHi++;
+			}
+			for(int i = lo, j = runHi - 1; i < j; i++, j--) {
+				T temp = a[i];
+				a[i] = a[j];
+				a[j] = temp;
+			}
+		}else {
+			while(runHi < hi && comparator.compare(a[runHi], a[runHi - 1]) >= 0) {
+				runHi++;
+			}
+		}
+
+		return runHi - lo;
+	}
+
+	/**
+	 * @return	a length between MIN_MERGE/2 and MIN_MERGE such that n divided by it is, or is just below, a power of two,
+	 * 			which makes the final merges balanced on random data.
+	 */
+	private static int minRunLength(int n) {
+		int r = 0;
+		while(n >= MIN_MERGE) {
+			r |= (n & 1);
+			n >>= 1;
+		}
+		return n + r;
+	}
+
+	private void pushRun(int base, int length) {
+		runBase[stackSize] = base;
+		runLength[stackSize] = length;
+		stackSize++;
+	}
+
+	/**
+	 * Merge the runs on top of the stack until, for any three consecutive runs X, Y, Z from the top:
+	 * <ol>
+	 * <li>Z > Y + X</li>
+	 * <li>Y > X</li>
+	 * </ol>
+	 * The invariant is also checked one level deeper, which the original TimSort missed.
+	 */
+	private void mergeCollapse() {
+		while(stackSize > 1) {
+			int n = stackSize - 2;
+			if((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+					|| (n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n])) {
+				if(runLength[n - 1] < runLength[n + 1]) {
+					n--;
+				}
+			}else if(runLength[n] > runLength[n + 1]) {
+				break;
+			}
+			mergeAt(n);
+		}
+	}
+
+	/**
+	 * Merge all the remaining runs once the whole array has been scanned.
+	 */
+	private void mergeForceCollapse() {
+		while(stackSize > 1) {
+			int n = stackSize - 2;
+			if(n > 0 && runLength[n - 1] < runLength[n + 1]) {
+				n--;
+			}
+			mergeAt(n);
+		}
+	}
+
+	/**
+	 * Merge the runs i and i+1 of the stack, i being either the second or the third run from the top.
+	 */
+	private void mergeAt(int i) {
+		int base1 = runBase[i], length1 = runLength[i];
+		int base2 = runBase[i + 1], length2 = runLength[i + 1];
+
+		runLength[i] = length1 + length2;
+		if(i == stackSize - 3) {
+			runBase[i + 1] = runBase[i + 2];
+			runLength[i + 1] = runLength[i + 2];
+		}
+		stackSize--;
+
+		// The elements of the first run which are not greater than the first of the second run are already in place.
+		int k = gallopRight(array[base2], array, base1, length1, 0, comparator);
+		base1 += k;
+		length1 -= k;
+		if(length1 == 0) {
+			return;
+		}
+
+		// So are the elements of the second run which are not smaller than the last of the first run.
+		length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1, comparator);
+		if(length2 == 0) {
+			return;
+		}
+
+		if(length1 <= length2) {
+			mergeLo(base1, length1, base2, length2);
+		}else {
+			mergeHi(base1, length1, base2, length2);
+		}
+	}
+
+	/**
+	 * Merge from left to right, the first run being copied aside.
+	 */
+	private void mergeLo(int base1, int length1, int base2, int length2) {
+		T[] a = array;
+		T[] t = buffer(length1);
+		System.arraycopy(a, base1, t, 0, length1);
+
+		int i = 0, j = base2, k = base1;
+		int end2 = base2 + length2;
+		int minGallop = this.minGallop;
+
+		outer:
+		while(true) {
+			int count1 = 0, count2 = 0;
+
+			// One element at a time, until one run wins often enough.
+			do {
+				if(comparator.compare(a[j], t[i]) < 0) {
+					a[k++] = a[j++];
+					count2++;
+					count1 = 0;
+					if(j == end2) break outer;
+				}else {
+					a[k++] = t[i++];
+					count1++;
+					count2 = 0;
+					if(i == length1) break outer;
+				}
+			}while((count1 | count2) < minGallop);
+
+			// Galloping, until neither run wins by a long stretch.
+			do {
+				count1 = gallopRight(a[j], t, i, length1 - i, 0, comparator);
+				if(count1 != 0) {
+					System.arraycopy(t, i, a, k, count1);
+					k += count1;
+					i += count1;
+					if(i == length1) break outer;
+				}
+				a[k++] = a[j++];
+				if(j == end2) break outer;
+
+				count2 = gallopLeft(t[i], a, j, end2 - j, 0, comparator);
+				if(count2 != 0) {
+					System.arraycopy(a, j, a, k, count2);
+					k += count2;
+					j += count2;
+					if(j == end2) break outer;
+				}
+				a[k++] = t[i++];
+				if(i == length1) break outer;
+
+				minGallop--;
+			}while(count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+			minGallop = Math.max(minGallop, 0) + 2;
+		}
+
+		this.minGallop = Math.max(minGallop, 1);
+
+		// What is left of the second run is already in place.
+		System.arraycopy(t, i, a, k, length1 - i);
+	}
+
+	/**
+	 * Merge from right to left, the second run being copied aside.
+	 */
+	private void mergeHi(int base1, int length1, int base2, int length2) {
+		T[] a = array;
+		T[] t = buffer(length2);
+		System.arraycopy(a, base2, t, 0, length2);
+
+		int i = base1 + length1 - 1, j = length2 - 1, k = base2 + length2 - 1;
+		int minGallop = this.minGallop;
+
+		outer:
+		while(true) {
+			int count1 = 0, count2 = 0;
+
+			do {
+				if(comparator.compare(t[j], a[i]) < 0) {
+					a[k--] = a[i--];
+					count1++;
+					count2 = 0;
+					if(i < base1) break outer;
+				}else {
+					a[k--] = t[j--];
+					count2++;
+					count1 = 0;
+					if(j < 0) break outer;
+				}
+			}while((count1 | count2) < minGallop);
+
+			do {
+				count1 = (i - base1 + 1) - gallopRight(t[j], a, base1, i - base1 + 1, i - base1, comparator);
+				if(count1 != 0) {
+					k -= count1;
+					i -= count1;
+					System.arraycopy(a, i + 1, a, k + 1, count1);
+					if(i < base1) break outer;
+				}
+				a[k--] = t[j--];
+				if(j < 0) break outer;
+
+				count2 = (j + 1) - gallopLeft(a[i], t, 0, j + 1, j, comparator);
+				if(count2 != 0) {
+					k -= count2;
+					j -= count2;
+					System.arraycopy(t, j + 1, a, k + 1, count2);
+					if(j < 0) break outer;
+				}
+				a[k--] = a[i--];
+				if(i < base1) break outer;
+
+				minGallop--;
+			}while(count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+			minGallop = Math.max(minGallop, 0) + 2;
+		}
+
+		this.minGallop = Math.max(minGallop, 1);
+
+		// What is left of the first run is already in place.
+		System.arraycopy(t, 0, a, k - j, j + 1);
+	}
+
+	/**
+	 * @return	the temporary buffer, big enough for the shorter run of any merge of this array.
+	 */
+	private T[] buffer(int length) {
+		if(tmp == null || tmp.length < length) {
+			tmp = (T[]) new Object[Math.max(length, array.length >>> 1)];
+		}
+		return tmp;
+	}
+
+	/**
+	 * Locate the leftmost position at which to insert the key into the sorted a[base .. base+length-1],
+	 * searching exponentially away from the hint then by binary search.
+	 * @return	the offset k such that a[base+k-1] < key <= a[base+k].
+	 */
+	private static <T> int gallopLeft(T key, T[] a, int base, int length, int hint, Comparator<? super T> comparator) {
+		int lastOffset = 0, offset = 1;
+
+		if(comparator.compare(key, a[base + hint]) > 0) {
+			int maxOffset = length - hint;
+			while(offset < maxOffset && comparator.compare(key, a[base + hint + offset]) > 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) offset = maxOffset;
+			}
+			offset = Math.min(offset, maxOffset);
+			lastOffset += hint;
+			offset += hint;
+		}else {
+			int maxOffset = hint + 1;
+			while(offset < maxOffset && comparator.compare(key, a[base + hint - offset]) <= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) offset = maxOffset;
+			}
+			offset = Math.min(offset, maxOffset);
+			int temp = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - temp;
+		}
+
+		// a[base+lastOffset] < key <= a[base+offset]
+		lastOffset++;
+		while(lastOffset < offset) {
+			int middle = (lastOffset + offset) >>> 1;
+			if(comparator.compare(key, a[base + middle]) > 0) {
+				lastOffset = middle + 1;
+			}else {
+				offset = middle;
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Like {@link #gallopLeft(Object, Object[], int, int, int, Comparator) gallopLeft} but locate the rightmost position.
+	 * @return	the offset k such that a[base+k-1] <= key < a[base+k].
+	 */
+	private static <T> int gallopRight(T key, T[] a, int base, int length, int hint, Comparator<? super T> comparator) {
+		int lastOffset = 0, offset = 1;
+
+		if(comparator.compare(key, a[base + hint]) < 0) {
+			int maxOffset = hint + 1;
+			while(offset < maxOffset && comparator.compare(key, a[base + hint - offset]) < 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) offset = maxOffset;
+			}
+			offset = Math.min(offset, maxOffset);
+			int temp = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - temp;
+		}else {
+			int maxOffset = length - hint;
+			while(offset < maxOffset && comparator.compare(key, a[base + hint + offset]) >= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) offset = maxOffset;
+			}
+			offset = Math.min(offset, maxOffset);
+			lastOffset += hint;
+			offset += hint;
+		}
+
+		// a[base+lastOffset] <= key < a[base+offset]
+		lastOffset++;
+		while(lastOffset < offset) {
+			int middle = (lastOffset + offset) >>> 1;
+			if(comparator.compare(key, a[base + middle]) < 0) {
+				offset = middle;
+			}else {
+				lastOffset = middle + 1;
+			}
+		}
+		return offset;
+	}
+}
@@ -0,0 +1,246 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * The probing of the {@link LinearProbing linear probing} hash tables from long keys to long values,
+ * over a {@link LongStorage} which its subclasses allocate.</br></br>
+ *
+ * Each key is stored next to its value, so that a lookup reads a single cache line:
+ * the slot i holds its key at 2i and its value at 2i+1.
+ * A key is deleted by moving the following keys of its cluster back instead of re-inserting them.</br>
+ * The subclasses choose where the slots live by {@link #resize(int) resizing} the storage,
+ * and are told when the number of pairs or the pair of the key 0 changes, and when a key has been deleted.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+abstract class AbstractLongLongLinearProbing extends PrimitiveHashTable {
+
+	/**
+	 * Internal storage for the keys and values, interleaved.
+	 */
+	LongStorage table;
+
+	/**
+	 * The value of the key 0.
+	 */
+	long zeroValue;
+
+	AbstractLongLongLinearProbing(int initialCapacity, float loadFactor, boolean offHeap) {
+		super(initialCapacity, loadFactor, offHeap);
+	}
+
+	/**
+	 * Called once the number of pairs, or the pair of the key 0, has changed.
+	 */
+	void pairsChanged() {
+		return;
+	}
+
+	/**
+	 * Called once a key has been deleted: the table is halved when it has become mostly empty.
+	 */
+	void deleted() {
+		shrink();
+	}
+
+	/**
+	 * Insert the keys of the slots of a storage into another one, which has no key yet.
+	 * @param from			the storage to be moved.
+	 * @param capacity		the number of slots of the storage to be moved.
+	 * @param to			the new storage.
+	 * @param newCapacity	the number of slots of the new storage, a power of two.
+	 */
+	static void rehash(LongStorage from, int capacity, LongStorage to, int newCapacity) {
+		int newMask = newCapacity - 1;
+		for(int k = 0; k < capacity; k++) {
+			long key = from.get(2L * k);
+			if(key != 0) {
+				int i = (int) mix(key) & newMask;
+				while(to.get(2L * i) != 0) {
+					i = (i + 1) & newMask;
+				}
+				to.set(2L * i, key);
+				to.set(2L * i + 1, from.get(2L * k + 1));
+			}
+		}
+	}
+
+	/**
+	 * Insert the key-value pair within the hash table.
+	 * @param key		the key to be inserted.
+	 * @param value		the value associated with its key.
+	 */
+	public void put(long key, long value) {
+		if(key == 0) {
+			if(!hasZeroKey) {
+				hasZeroKey = true;
+				N++;
+			}
+			zeroValue = value;
+			pairsChanged();
+			return;
+		}
+
+		int i = hash(key);
+		for(long k; (k = table.get(2L * i)) != 0; i = (i + 1) & mask) {
+			if(k == key) {// rewriting if there are duplicates.
+				table.set(2L * i + 1, value);
+				return;
+			}
+		}
+
+		if(ensureCapacity()) {
+			i = hash(key);
+			while(table.get(2L * i) != 0) {
+				i = (i + 1) & mask;
+			}
+		}
+
+		// the value first, so that a put interrupted halfway does not leave the key with the value of a deleted key.
+		table.set(2L * i + 1, value);
+		table.set(2L * i, key);
+		N++;
+		pairsChanged();
+	}
+
+	/**
+	 * Search the value associated with the given key.
+	 * @param key	the key to fetched for its value.
+	 * @return		the value associated with the given key, 0 if there is no such key in the hash table.
+	 */
+	public long get(long key) {
+		return getOrDefault(key, 0);
+	}
+
+	/**
+	 * Search the value associated with the given key.
+	 * @param key			the key to fetched for its value.
+	 * @param defaultValue	the value returned when the key is missing.
+	 * @return				the value associated with the given key, the default value if there is no such key in the hash table.
+	 */
+	public long getOrDefault(long key, long defaultValue) {
+		if(key == 0) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		int i = indexOf(key);
+		return i < 0 ? defaultValue : table.get(2L * i + 1);
+	}
+
+	/**
+	 * Check whether a given key does exist within the hash table
+	 * @param key	the key to be searched for.
+	 * @return		true if a given key exists, otherwise false.
+	 */
+	public boolean contains(long key) {
+		return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+	}
+
+	/**
+	 * delete key (and associated value) if key is in the hash table.
+	 * @param key	the key to be deleted associated with its value.
+	 */
+	public void delete(long key) {
+		if(key == 0) {
+			if(hasZeroKey) {
+				hasZeroKey = false;
+				zeroValue = 0;
+				N--;
+				pairsChanged();
+			}
+			return;
+		}
+
+		int i = indexOf(key);
+		if(i < 0) return;
+
+		// move back the keys of the cluster which would no longer be reachable through the emptied slot.
+		for(int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+			long k = table.get(2L * j);
+			if(k == 0) {
+				break;
+			}
+			if(shiftsBack(i, j, hash(k))) {
+				table.set(2L * i, k);
+				table.set(2L * i + 1, table.get(2L * j + 1));
+				i = j;
+			}
+		}
+		table.set(2L * i, 0);
+		table.set(2L * i + 1, 0);
+		N--;
+		pairsChanged();
+
+		deleted();
+	}
+
+	/**
+	 * @return	the slot of the given non-zero key, or -1 if it is missing.
+	 */
+	private int indexOf(long key) {
+		for(int i = hash(key); ; i = (i + 1) & mask) {
+			long k = table.get(2L * i);
+			if(k == key) {
+				return i;
+			}
+			if(k == 0) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * @return	an iterator over the keys, which must not be used once the hash table is modified.
+	 */
+	public PrimitiveIterator.OfLong keys() {
+		return new PrimitiveIterator.OfLong() {
+
+			private boolean zero = hasZeroKey;
+
+			private int next = advance(0);
+
+			private int advance(int i) {
+				while(i < M && table.get(2L * i) == 0) {
+					i++;
+				}
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return zero || next < M;
+			}
+
+			@Override
+			public long nextLong() {
+				if(zero) {
+					zero = false;
+					return 0;
+				}
+				if(next >= M) {
+					throw new NoSuchElementException("No more keys!!");
+				}
+				long key = table.get(2L * next);
+				next = advance(next + 1);
+				return key;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		if(hasZeroKey) {
+			str.append("Key = 0, Value = ").append(zeroValue).append("\n");
+		}
+		for(int i = 0; i < M; i++) {
+			long key = table.get(2L * i);
+			if(key != 0) {
+				str.append("Key = ").append(key).append(", Value = ").append(table.get(2L * i + 1)).append("\n");
+			}
+		}
+		return str.toString();
+	}
+}
@@ -185,8 +185,8 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements ISo
 			if(nodeTobeRemoved == root) {
 				root.key = null;
 				root.value = null;
-				root = null;
-				end = null;
+				// the tree is empty again, the sentinel node must survive for the next insertions.
+				root = end;
 			}else {
 
 				// Otherwise the node is a child node to be deleted
@@ -221,6 +221,7 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements ISo
 				root.key = null;
 				root.value = null;
 				root = childNode;
+				root.parent = end;
 			}else {
 
 				// Referencing correctly the parent child node.
@@ -257,6 +258,13 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements ISo
 		        // we can safely make successor's right 
 		        // right child as left of its parent. 
 				parentSucessorNode.left = successor.right;
+			}else {
+				// Unless the successor is the right child of the node to be removed itself.
+				parentSucessorNode.right = successor.right;
+			}
+
+			if(successor.right != end) {
+				successor.right.parent = parentSucessorNode;
 			}
 			
 			//Un-referencing process...
@@ -950,8 +958,10 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements ISo
 					nextNode = nextNode.right;
 					leftdone = false;
 
-				}else if(nextNode.parent != end) {
+				}else {
 
+					// Climbing up to the first ancestor whose left subtree has been iterated,
+					// or past the root onto the sentinel node once the whole tree has been.
 					while((nextNode.parent != end) && (nextNode.parent.right == nextNode)) {
 						nextNode = nextNode.parent;
 					}
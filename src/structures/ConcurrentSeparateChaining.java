@@ -0,0 +1,488 @@
+package structures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe {@link SeparateChaining separate chaining} hash table whose reads never block.</br></br>
+ *
+ * <ul>
+ * <li>A key is inserted in an empty slot by a compare-and-set of the head of its chain; any other update locks the head of the chain,
+ * so that the threads updating different slots never wait for each other.</li>
+ * <li>A lookup takes no lock: the links of a chain and the values are volatile, and the nodes of a chain are never modified by a resize.</li>
+ * <li>When the table doubles, the slots are moved by ranges which any thread writing to the table claims and moves:
+ * the writers help the resize instead of waiting for it. A moved slot is replaced by a forwarding node pointing to the new table,
+ * through which the lookups and the updates of that slot go on while the other slots are still being moved.</li>
+ * <li>The number of pairs is kept in a {@link LongAdder}, so that the writers do not contend on a single counter.
+ * Each insertion sums its cells to compare the size with the threshold: skipping the check when a key lands in an empty slot
+ * would let well spread keys fill every slot before the table grows.</li>
+ * </ul>
+ * Like in {@link java.util.concurrent.ConcurrentHashMap}, the table never shrinks and the iterator is weakly consistent:
+ * it returns the keys present at some point since its creation.
+ *
+ * @author Njoyim Peguy
+ *
+ * @param <K>	key type
+ * @param <V>	value type.
+ */
+public final class ConcurrentSeparateChaining<K, V> extends HashTable<K, V> {
+
+	/**
+	 * The hash of a forwarding node, the hashes of the keys being non-negative.
+	 */
+	private static final int MOVED = -1;
+
+	/**
+	 * The minimum number of slots a thread claims at once while moving the table.
+	 */
+	private static final int MIN_TRANSFER_STRIDE = 16;
+
+	/**
+	 * The largest number of slots: the size of the table is a power of two.
+	 */
+	private static final int MAXIMUM_TABLE_SIZE = 1 << 30;
+
+	/**
+	 * The number of bits of {@link #sizeCtl} holding the stamp of the resize, the others counting the threads moving the table.
+	 */
+	private static final int RESIZE_STAMP_SHIFT = 16;
+
+	/**
+	 * The largest number of threads moving the table at once.
+	 */
+	private static final int MAX_RESIZERS = (1 << RESIZE_STAMP_SHIFT) - 1;
+
+	private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Node[].class);
+
+	private static final VarHandle SIZE_CTL, TRANSFER_INDEX;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			SIZE_CTL = lookup.findVarHandle(ConcurrentSeparateChaining.class, "sizeCtl", int.class);
+			TRANSFER_INDEX = lookup.findVarHandle(ConcurrentSeparateChaining.class, "transferIndex", int.class);
+		}catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * The heads of the chains.
+	 */
+	private volatile Node<K, V>[] table;
+
+	/**
+	 * The table the slots are being moved to, null when the table is not being resized.
+	 */
+	private volatile Node<K, V>[] nextTable;
+
+	/**
+	 * Either the number of pairs beyond which the table is resized, or, while it is moved,
+	 * the {@link #resizeStamp(int) stamp} of its size plus 1 plus the number of threads moving it.
+	 */
+	private volatile int sizeCtl;
+
+	/**
+	 * The slots below this index are still to be claimed by the threads moving the table.
+	 */
+	private volatile int transferIndex;
+
+	/**
+	 * The number of key-value pairs.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	public ConcurrentSeparateChaining() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 */
+	public ConcurrentSeparateChaining(int initialCapacity) {
+		super(initialCapacity, 0.75f);
+		int n = Math.min(MAXIMUM_TABLE_SIZE, Math.max(2, Integer.highestOneBit(Math.max(M - 1, 1)) << 1));
+		table = (Node<K, V>[]) new Node[n];
+		M = n;
+		sizeCtl = threshold(n);
+	}
+
+	/**
+	 * A link of a chain.
+	 */
+	private static class Node<K, V> {
+
+		final int hash;
+
+		final K key;
+
+		volatile V value;
+
+		volatile Node<K, V> next;
+
+		Node(int hash, K key, V value, Node<K, V> next) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * The head of a slot which has been moved to the next table.
+	 */
+	private static final class ForwardingNode<K, V> extends Node<K, V> {
+
+		final Node<K, V>[] nextTable;
+
+		ForwardingNode(Node<K, V>[] nextTable) {
+			super(MOVED, null, null, null);
+			this.nextTable = nextTable;
+		}
+	}
+
+	private static <K, V> Node<K, V> slotAt(Node<K, V>[] tab, int i) {
+		return (Node<K, V>) SLOTS.getVolatile(tab, i);
+	}
+
+	private static <K, V> boolean casSlot(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> node) {
+		return SLOTS.compareAndSet(tab, i, expected, node);
+	}
+
+	private static <K, V> void setSlot(Node<K, V>[] tab, int i, Node<K, V> node) {
+		SLOTS.setVolatile(tab, i, node);
+	}
+
+	/**
+	 * @return	the hash code with its high bits folded into the low ones, which select the slot, made non-negative.
+	 */
+	private static int spread(int hashCode) {
+		return (hashCode ^ (hashCode >>> 16)) & 0x7fffffff;
+	}
+
+	private int threshold(int capacity) {
+		return (int) (loadFactor() * capacity);
+	}
+
+	/**
+	 * The stamp identifies the resize of a table of a given size, which happens once since the table never shrinks:
+	 * a thread which read {@link #sizeCtl} during a resize can't join a later one by mistake.
+	 * @return	the value of {@link #sizeCtl} while a table of n slots is moved by no thread, negative.
+	 */
+	private static int resizeStamp(int n) {
+		return (Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_SHIFT - 1))) << RESIZE_STAMP_SHIFT;
+	}
+
+	/**
+	 * The statistics are not gathered: they are not meant to be shared between threads.
+	 * @throws UnsupportedOperationException	if the statistics are to be enabled.
+	 */
+	@Override
+	public void setMetricsEnabled(boolean enabled) {
+		if(enabled) {
+			throw new UnsupportedOperationException(getClass().getSimpleName() + " gathers no statistics");
+		}
+	}
+
+	@Override
+	public int size() {
+		long n = count.sum();
+		return n < 0 ? 0 : (n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return count.sum() <= 0;
+	}
+
+	@Override
+	public V get(K key) {
+		int h = spread(key.hashCode());
+		Node<K, V>[] tab = table;
+		for(Node<K, V> e = slotAt(tab, h & (tab.length - 1)); e != null; ) {
+			if(e.hash == MOVED) {// the slot has been moved, look into the next table.
+				tab = ((ForwardingNode<K, V>) e).nextTable;
+				e = slotAt(tab, h & (tab.length - 1));
+				continue;
+			}
+			if(e.hash == h && e.key.equals(key)) {
+				return e.value;
+			}
+			e = e.next;
+		}
+		return null;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if(value == null) {
+			delete(key);
+			return;
+		}
+
+		int h = spread(key.hashCode());
+		for(Node<K, V>[] tab = table; ; ) {
+			int i = h & (tab.length - 1);
+			Node<K, V> f = slotAt(tab, i);
+
+			if(f == null) {
+				if(casSlot(tab, i, null, new Node<>(h, key, value, null))) {
+					break;
+				}
+			}else if(f.hash == MOVED) {
+				tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+			}else {
+				boolean added = false;
+				synchronized(f) {
+					if(slotAt(tab, i) != f) {
+						continue;// the head has changed, try again.
+					}
+					for(Node<K, V> e = f; ; e = e.next) {
+						if(e.hash == h && e.key.equals(key)) {// rewriting if there are duplicates.
+							e.value = value;
+							return;
+						}
+						if(e.next == null) {
+							e.next = new Node<>(h, key, value, null);
+							added = true;
+							break;
+						}
+					}
+				}
+				if(added) {
+					break;
+				}
+			}
+		}
+
+		count.increment();
+		if(count.sum() >= sizeCtl) {
+			grow();
+		}
+	}
+
+	@Override
+	public void delete(K key) {
+		int h = spread(key.hashCode());
+		for(Node<K, V>[] tab = table; ; ) {
+			int i = h & (tab.length - 1);
+			Node<K, V> f = slotAt(tab, i);
+
+			if(f == null) {
+				return;
+			}
+			if(f.hash == MOVED) {
+				tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+				continue;
+			}
+
+			synchronized(f) {
+				if(slotAt(tab, i) != f) {
+					continue;
+				}
+				for(Node<K, V> e = f, pred = null; e != null; pred = e, e = e.next) {
+					if(e.hash == h && e.key.equals(key)) {
+						if(pred == null) {
+							setSlot(tab, i, e.next);
+						}else {
+							pred.next = e.next;
+						}
+						count.decrement();
+						return;
+					}
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * resize the hash table to at least the given capacity, helping the resizes in progress.
+	 * @param newCapacity		the new capacity
+	 */
+	@Override
+	protected void resize(int newCapacity) {
+		while(table.length < Math.min(newCapacity, MAXIMUM_TABLE_SIZE)) {
+			// sizeCtl first: if it is unchanged by the compare-and-set, the table read after it is the one to be moved.
+			int sc = sizeCtl;
+			Node<K, V>[] tab = table;
+			if(sc < 0) {
+				Node<K, V>[] nt = nextTable;
+				if(nt == null || !join(tab, nt)) {
+					Thread.yield();// the resize is being set up or finished.
+				}
+			}else if(SIZE_CTL.compareAndSet(this, sc, resizeStamp(tab.length) + 2)) {
+				startTransfer(tab);
+			}
+		}
+	}
+
+	/**
+	 * Double the table as long as there are more pairs than its threshold.
+	 */
+	private void grow() {
+		for(int sc; count.sum() >= (sc = sizeCtl); ) {
+			Node<K, V>[] tab = table;
+			if(tab.length >= MAXIMUM_TABLE_SIZE) {
+				return;
+			}
+			if(sc < 0) {
+				Node<K, V>[] nt = nextTable;
+				if(nt == null || !join(tab, nt)) {
+					return;// the resize is being set up or about to end, the other threads will complete it.
+				}
+			}else if(SIZE_CTL.compareAndSet(this, sc, resizeStamp(tab.length) + 2)) {
+				startTransfer(tab);
+			}
+		}
+	}
+
+	/**
+	 * Join the resize in progress, if any, then return the table to go on with.
+	 */
+	private Node<K, V>[] helpTransfer(Node<K, V>[] tab, ForwardingNode<K, V> f) {
+		join(tab, f.nextTable);
+		// once the resize is over, the next table has become the table.
+		return table == tab ? f.nextTable : table;
+	}
+
+	/**
+	 * Help moving the given table to the given next table, if that resize is still in progress and has slots left to claim.
+	 * @return	true if the slots have been helped moving.
+	 */
+	private boolean join(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+		int rs = resizeStamp(tab.length);
+		for(int sc; nextTab.length == tab.length << 1 && nextTable == nextTab && table == tab && (sc = sizeCtl) < 0; ) {
+			// another resize, or the end of this one: the last thread has left or is leaving.
+			if((sc & ~MAX_RESIZERS) != rs || sc == rs + 1 || sc == rs + MAX_RESIZERS || transferIndex <= 0) {
+				return false;
+			}
+			if(SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+				transfer(tab, nextTab);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Allocate the next table and move the slots, as the first thread of the resize.
+	 * The caller must have set {@link #sizeCtl} to the stamp of the table plus 2.
+	 */
+	private void startTransfer(Node<K, V>[] tab) {
+		Node<K, V>[] nextTab = (Node<K, V>[]) new Node[tab.length << 1];
+		// the slots must be claimable as soon as the next table is seen by the other threads.
+		transferIndex = tab.length;
+		nextTable = nextTab;
+		transfer(tab, nextTab);
+	}
+
+	/**
+	 * Claim and move ranges of slots until there is no more to claim, then leave the resize;
+	 * the last thread to leave installs the next table.
+	 * The caller must have counted itself in {@link #sizeCtl} with the stamp of the table.
+	 */
+	private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+		int n = tab.length;
+		int stride = Math.max(MIN_TRANSFER_STRIDE, n / (8 * Runtime.getRuntime().availableProcessors()));
+		ForwardingNode<K, V> fwd = new ForwardingNode<>(nextTab);
+
+		for(int to; (to = transferIndex) > 0; ) {
+			int from = Math.max(0, to - stride);
+			if(TRANSFER_INDEX.compareAndSet(this, to, from)) {
+				for(int i = to - 1; i >= from; i--) {
+					moveSlot(tab, nextTab, i, fwd);
+				}
+			}
+		}
+
+		for(int sc; ; ) {
+			sc = sizeCtl;
+			if(SIZE_CTL.compareAndSet(this, sc, sc - 1)) {
+				if(sc == resizeStamp(tab.length) + 2) {// the last thread of the resize.
+					nextTable = null;
+					table = nextTab;
+					M = nextTab.length;
+					sizeCtl = threshold(nextTab.length);
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Split the chain of the slot i between the slots i and i+n of the next table, then forward the slot.
+	 */
+	private static <K, V> void moveSlot(Node<K, V>[] tab, Node<K, V>[] nextTab, int i, ForwardingNode<K, V> fwd) {
+		int n = tab.length;
+		for(;;) {
+			Node<K, V> f = slotAt(tab, i);
+			if(f == null) {
+				if(casSlot(tab, i, null, fwd)) {
+					return;
+				}
+				continue;// a key has just been inserted.
+			}
+
+			synchronized(f) {
+				if(slotAt(tab, i) != f) {
+					continue;
+				}
+				// the nodes are copied, so that the lookups still walking the old chain are not misled.
+				Node<K, V> low = null, high = null;
+				for(Node<K, V> e = f; e != null; e = e.next) {
+					if((e.hash & n) == 0) {
+						low = new Node<>(e.hash, e.key, e.value, low);
+					}else {
+						high = new Node<>(e.hash, e.key, e.value, high);
+					}
+				}
+				setSlot(nextTab, i, low);
+				setSlot(nextTab, i + n, high);
+				setSlot(tab, i, fwd);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		Queue<K> queue = new Queue<>();
+		Node<K, V>[] tab = table;
+		for(int i = 0; i < tab.length; i++) {
+			collect(tab, i, queue);
+		}
+		return queue;
+	}
+
+	/**
+	 * Enqueue the keys of the slot i, following it into the next tables if it has been moved.
+	 */
+	private static <K, V> void collect(Node<K, V>[] tab, int i, Queue<K> queue) {
+		Node<K, V> f = slotAt(tab, i);
+		if(f != null && f.hash == MOVED) {
+			Node<K, V>[] nextTab = ((ForwardingNode<K, V>) f).nextTable;
+			collect(nextTab, i, queue);
+			collect(nextTab, i + tab.length, queue);
+			return;
+		}
+		for(Node<K, V> e = f; e != null; e = e.next) {
+			queue.Enqueue(e.key);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str =  "";
+		for(K key : this) {
+			V value = get(key);
+			if(value != null) {
+				str += "Key = " + key + ", Value = " + value + "\n";
+			}
+		}
+		return str;
+	}
+}
@@ -0,0 +1,396 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A hash table whose lookups probe two buckets at most, by bucketized cuckoo hashing.</br></br>
+ *
+ * Two hash functions give each key two candidate buckets of {@value #BUCKET_SIZE} slots, and a key always lies in one of them.
+ * A lookup thus reads two buckets, whatever the load: two short runs of slots instead of a cluster or a chain of unknown length.</br>
+ * An insertion takes a free slot of either bucket. When both are full, it kicks out a key chosen at random from one of them,
+ * which moves to its other bucket, possibly kicking out another key, and so on.
+ * A chain of kick-outs longer than {@value #MAX_KICKS} is given up, and the key left homeless goes to a small stash,
+ * which the lookups scan after the two buckets. When the stash is full, the table is rehashed with new hash functions,
+ * doubling it unless it is mostly empty.</br>
+ * Buckets of 4 slots fill up to about 95% of the table before the kick-out chains grow long, hence the default load factor of 0.9.
+ * The hash codes are cached, so that the keys are moved without calling {@link Object#hashCode()},
+ * and a key is compared with {@link Object#equals(Object)} only when both hash codes match.
+ * Each key is stored next to its value, so that the key found is read along with its value.
+ * The hash codes stay in an array of their own, a Java array holding either ints or references but not both:
+ * a lookup reads the hash codes of one or two buckets, the slot whose hash code matches and the key object itself,
+ * which is more cache lines than the single one of a bucket packing its hash codes, keys and values.</br>
+ * No hash function separates the keys of equal hash codes: when more of them than two buckets and the stash can hold are inserted,
+ * the stash grows beyond its size, and so do the lookups of these keys.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Cuckoo_hashing">Cuckoo hashing</a>
+ * @author Njoyim Peguy
+ *
+ * @param <K>	key type
+ * @param <V>	value type.
+ */
+public final class CuckooHashing<K, V> extends HashTable<K, V> {
+
+	/**
+	 * The load factor used when none specified in constructor.
+	 */
+	public static final float DEFAULT_LOAD_FACTOR = 0.9f;
+
+	/**
+	 * The number of slots of a bucket.
+	 */
+	private static final int BUCKET_SIZE = 4;
+
+	/**
+	 * The longest chain of kick-outs of an insertion.
+	 */
+	private static final int MAX_KICKS = 128;
+
+	/**
+	 * The number of keys the stash holds before the table is rehashed.
+	 */
+	private static final int STASH_SIZE = 4;
+
+	/**
+	 * Internal storage for the keys, at the even indexes, each followed by its value; the slots of a bucket are next to each other.
+	 */
+	private Object[] entries;
+
+	/**
+	 * Internal storage for the hash codes of the keys.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The number of buckets minus one.
+	 */
+	private int bucketMask;
+
+	/**
+	 * The keys which found no slot, in their first {@link #stashed} slots.
+	 */
+	private K[] stashKeys;
+
+	private V[] stashValues;
+
+	private int[] stashHashes;
+
+	private int stashed;
+
+	/**
+	 * The seed of the hash functions, changed by each rehash.
+	 */
+	private int seed;
+
+	/**
+	 * The state of the generator choosing the keys to kick out.
+	 */
+	private int random = 0x2545F491;
+
+	public CuckooHashing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CuckooHashing(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two of at least {@value #BUCKET_SIZE}.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 */
+	public CuckooHashing(int initialCapacity, float loadFactor) {
+		super(initialCapacity, loadFactor);
+		if(loadFactor >= 1) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}
+		allocate(Math.max(BUCKET_SIZE, Integer.highestOneBit(Math.max(M - 1, 1)) << 1));
+	}
+
+	private void allocate(int capacity) {
+		M = capacity;
+		bucketMask = capacity / BUCKET_SIZE - 1;
+		entries = new Object[2 * capacity];
+		hashes = new int[capacity];
+		stashKeys = (K[]) new Object[STASH_SIZE];
+		stashValues = (V[]) new Object[STASH_SIZE];
+		stashHashes = new int[STASH_SIZE];
+		stashed = 0;
+	}
+
+	/**
+	 * @return	the first slot of the first bucket of a key of the given hash code.
+	 */
+	private int bucket1(int hashCode) {
+		int h = (hashCode ^ seed) * 0x9E3779B9;
+		return ((h ^ (h >>> 16)) & bucketMask) * BUCKET_SIZE;
+	}
+
+	/**
+	 * @return	the first slot of the second bucket of a key of the given hash code.
+	 */
+	private int bucket2(int hashCode) {
+		// another multiplier, so that the keys sharing their first bucket are spread over the second ones.
+		int h = (hashCode ^ ~seed) * 0x85EBCA6B;
+		return ((h ^ (h >>> 15)) & bucketMask) * BUCKET_SIZE;
+	}
+
+	private K key(int slot) {
+		return (K) entries[2 * slot];
+	}
+
+	private V value(int slot) {
+		return (V) entries[2 * slot + 1];
+	}
+
+	private void set(int slot, K key, V value, int h) {
+		entries[2 * slot] = key;
+		entries[2 * slot + 1] = value;
+		hashes[slot] = h;
+	}
+
+	/**
+	 * Look for a key in its two buckets, then in the stash, recording the number of slots compared.
+	 * @return	the slot of the given key, {@code -2 - i} if it is the key i of the stash, or -1 if it is missing.
+	 */
+	private int indexOf(K key, int h) {
+		int probes = 0;
+		for(int i = bucket1(h), end = i + BUCKET_SIZE; i < end; i++) {
+			probes++;
+			if(hashes[i] == h && entries[2 * i] != null && entries[2 * i].equals(key)) {
+				recordProbes(probes);
+				return i;
+			}
+		}
+		for(int i = bucket2(h), end = i + BUCKET_SIZE; i < end; i++) {
+			probes++;
+			if(hashes[i] == h && entries[2 * i] != null && entries[2 * i].equals(key)) {
+				recordProbes(probes);
+				return i;
+			}
+		}
+		for(int i = 0; i < stashed; i++) {
+			probes++;
+			if(stashHashes[i] == h && stashKeys[i].equals(key)) {
+				recordProbes(probes);
+				return -2 - i;
+			}
+		}
+		recordProbes(probes);
+		return -1;
+	}
+
+	/**
+	 * @return	the first free slot of the bucket starting at the given slot, or -1 if it is full.
+	 */
+	private int freeSlot(int bucket) {
+		for(int i = bucket, end = bucket + BUCKET_SIZE; i < end; i++) {
+			if(entries[2 * i] == null) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return	a pseudo-random number, by a xorshift generator.
+	 */
+	private int nextRandom() {
+		int x = random;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		return random = x;
+	}
+
+	/**
+	 * Insert a key which is not in the hash table, without rehashing it: the key, or a key it kicked out, may go to the stash.
+	 * @return	true if the stash was full, the key then being left in the stash beyond its size.
+	 */
+	private boolean insert(K key, V value, int h) {
+		int bucket = bucket1(h);
+		int i = freeSlot(bucket);
+		if(i < 0) {
+			bucket = bucket2(h);
+			i = freeSlot(bucket);
+		}
+
+		for(int kicks = 0; i < 0 && kicks < MAX_KICKS; kicks++) {
+			// the key takes the slot of a random key of the bucket, which moves to its other bucket.
+			int victim = bucket + (nextRandom() & (BUCKET_SIZE - 1));
+			K k = key(victim);
+			V v = value(victim);
+			int hk = hashes[victim];
+			set(victim, key, value, h);
+			key = k;
+			value = v;
+			h = hk;
+
+			bucket = bucket1(h) == bucket ? bucket2(h) : bucket1(h);
+			i = freeSlot(bucket);
+		}
+
+		if(i >= 0) {
+			set(i, key, value, h);
+			return false;
+		}
+
+		boolean overflow = stashed == stashKeys.length;
+		if(overflow) {
+			stashKeys = Arrays.copyOf(stashKeys, 2 * stashed);
+			stashValues = Arrays.copyOf(stashValues, 2 * stashed);
+			stashHashes = Arrays.copyOf(stashHashes, 2 * stashed);
+		}
+		stashKeys[stashed] = key;
+		stashValues[stashed] = value;
+		stashHashes[stashed] = h;
+		stashed++;
+		return overflow;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		Object[] oldEntries = entries;
+		int[] oldHashes = hashes;
+		K[] oldStashKeys = stashKeys;
+		V[] oldStashValues = stashValues;
+		int[] oldStashHashes = stashHashes;
+		int oldStashed = stashed;
+
+		// new hash functions, so that a rehash in place does not run into the same kick-out cycles.
+		seed += 0x9E3779B9;
+		allocate(Math.max(BUCKET_SIZE, newCapacity));
+
+		for(int k = 0; k < oldHashes.length; k++) {
+			if(oldEntries[2 * k] != null) {
+				insert((K) oldEntries[2 * k], (V) oldEntries[2 * k + 1], oldHashes[k]);
+			}
+		}
+		for(int k = 0; k < oldStashed; k++) {
+			insert(oldStashKeys[k], oldStashValues[k], oldStashHashes[k]);
+		}
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if(value == null) {
+			delete(key);
+			return;
+		}
+
+		int h = key.hashCode();
+		int i = indexOf(key, h);
+		if(i >= 0) {// rewriting if there are duplicates.
+			entries[2 * i + 1] = value;
+			return;
+		}
+		if(i < -1) {
+			stashValues[-2 - i] = value;
+			return;
+		}
+
+		if(N >= threshold()) {
+			rehash(2 * M);
+		}
+
+		N++;
+		if(insert(key, value, h)) {
+			// the stash has overflowed: a table mostly empty has only met unlucky hash functions.
+			rehash(N < threshold() / 2 ? M : 2 * M);
+		}
+	}
+
+	@Override
+	public V get(K key) {
+		int i = indexOf(key, key.hashCode());
+		if(i >= 0) {
+			return value(i);
+		}
+		return i < -1 ? stashValues[-2 - i] : null;
+	}
+
+	@Override
+	public void delete(K key) {
+		int i = indexOf(key, key.hashCode());
+		if(i == -1) return;
+
+		if(i >= 0) {
+			set(i, null, null, 0);
+		}else {
+			i = -2 - i;
+
+			// the last key of the stash takes the slot.
+			stashed--;
+			stashKeys[i] = stashKeys[stashed];
+			stashValues[i] = stashValues[stashed];
+			stashHashes[i] = stashHashes[stashed];
+			stashKeys[stashed] = null;
+			stashValues[stashed] = null;
+		}
+		N--;
+		recordDelete(0, false);
+
+		if(M > DEFAULT_CAPACITY && N <= threshold() / 4) {
+			rehash(M / 2);
+		}
+	}
+
+	/**
+	 * Count the keys of each bucket, the stash being counted as one more bucket when it is not empty.
+	 * @return	the number of buckets holding each number of keys.
+	 */
+	@Override
+	public long[] chainLengths() {
+		long[] histogram = new long[BUCKET_SIZE + 1];
+		for(int bucket = 0; bucket < M; bucket += BUCKET_SIZE) {
+			int length = 0;
+			for(int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+				if(entries[2 * i] != null) {
+					length++;
+				}
+			}
+			histogram = count(histogram, length);
+		}
+		if(stashed > 0) {
+			histogram = count(histogram, stashed);
+		}
+		return histogram;
+	}
+
+	/**
+	 * @return	the number of keys in the stash.
+	 */
+	public int stashSize() {
+		return stashed;
+	}
+
+	@Override
+	public String toString() {
+		String str =  "";
+		for(int i = 0; i < M; i++) {
+			if(key(i) != null) {
+				str += "Key = " + key(i) + ", Value = " + value(i) + "\n";
+			}
+		}
+		for(int i = 0; i < stashed; i++) {
+			str += "Key = " + stashKeys[i] + ", Value = " + stashValues[i] + "\n";
+		}
+		return str;
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		Queue<K> queue = new Queue<>();
+
+		for(int i = 0; i < M; i++) {
+			if(key(i) != null) {
+				queue.Enqueue(key(i));
+			}
+		}
+		for(int i = 0; i < stashed; i++) {
+			queue.Enqueue(stashKeys[i]);
+		}
+		return queue;
+	}
+}
@@ -1,5 +1,8 @@
 package structures;
 
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
 /**
  * 
  * @author Njoyim Peguy
@@ -31,6 +34,27 @@ public abstract class HashTable<K, V> implements Iterable<K> {
 	 */
 	private final float loadFactor;
 
+	/**
+	 * The number of old slots moved to the new table by each operation during an incremental resize.</br>
+	 * Moving more than two slots per insertion guarantees that the old table is empty before the new one reaches its threshold.
+	 */
+	protected static final int MIGRATION_STEP = 8;
+
+	/**
+	 * The number of lookups of {@link #getAll(Object[], Object[])} which are interleaved.
+	 */
+	protected static final int LOOKUP_BATCH = 16;
+
+	/**
+	 * Whether a resize is spread over the following operations instead of rehashing every key at once.
+	 */
+	private boolean incrementalResize;
+
+	/**
+	 * The statistics of the operations, null unless they are enabled so that they cost nothing otherwise.
+	 */
+	private HashTableMetrics metrics;
+
 	/**
 	 * Number of slots in the hash table
 	 */
@@ -61,7 +85,7 @@ public abstract class HashTable<K, V> implements Iterable<K> {
 			initialCapacity = MAXIMUM_CAPACITY;
 		}
 
-		if(this instanceof LinearProbing) {
+		if(!(this instanceof SeparateChaining)) {
 			loadFactor = DEFAULT_LOAD_FACTOR;
 		}else {
 			loadFactor = 1.0f;
@@ -84,7 +108,7 @@ public abstract class HashTable<K, V> implements Iterable<K> {
 		}
 
 		M = initialCapacity;
-		if(this instanceof LinearProbing) {
+		if(!(this instanceof SeparateChaining)) {
 			this.loadFactor = loadFactor;
 		}else {
 			this.loadFactor = 1.0f;
@@ -112,6 +136,163 @@ public abstract class HashTable<K, V> implements Iterable<K> {
 		return loadFactor;
 	}
 
+	/**
+	 * @return	true if a resize is spread over the following operations instead of rehashing every key at once.
+	 */
+	public boolean isIncrementalResize() {
+		return incrementalResize;
+	}
+
+	/**
+	 * Choose how the hash table is resized.</br>
+	 * An incremental resize keeps the old table next to the new one and moves a few slots of the old table on each operation,
+	 * so that no single insertion pays for rehashing the whole table. The lookups go through both tables in the meantime.
+	 * @param incremental	true to spread the resizes over the operations, false to rehash every key at once.
+	 * @throws UnsupportedOperationException	if this hash table can't be resized incrementally.
+	 */
+	public void setIncrementalResize(boolean incremental) {
+		if(incremental && !supportsIncrementalResize()) {
+			throw new UnsupportedOperationException(getClass().getSimpleName() + " can't be resized incrementally");
+		}
+		if(!incremental) {
+			completeResize();
+		}
+		incrementalResize = incremental;
+	}
+
+	/**
+	 * @return	true if this hash table can be resized incrementally.
+	 */
+	protected boolean supportsIncrementalResize() {
+		return false;
+	}
+
+	/**
+	 * @return	true if an incremental resize is in progress.
+	 */
+	public boolean isResizing() {
+		return false;
+	}
+
+	/**
+	 * Move all the keys left in the old table, if an incremental resize is in progress.
+	 */
+	protected void completeResize() {
+	}
+
+	/**
+	 * Start or stop gathering the statistics of the operations, which are dropped when stopped.
+	 * @param enabled	true to gather the statistics from now on.
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		if(!enabled) {
+			metrics = null;
+		}else if(metrics == null) {
+			metrics = new HashTableMetrics();
+		}
+	}
+
+	/**
+	 * @return	the statistics gathered since they were enabled, null if they are not.
+	 */
+	public HashTableMetrics metrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return	the current load of the hash table: the number of key-value pairs per slot.
+	 */
+	public float load() {
+		return M == 0 ? 0 : (float) size() / M;
+	}
+
+	/**
+	 * Count the keys which are probed together: the chains of a hash table with separate chaining,
+	 * or the clusters of consecutive full slots of a hash table with open addressing.</br>
+	 * Its cost is a scan of the whole table, so that it is computed on demand rather than along the operations.
+	 * @return	the number of chains, or clusters, of each length.
+	 * @throws UnsupportedOperationException	if the keys of this hash table are not probed in chains.
+	 */
+	public long[] chainLengths() {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " has no chains");
+	}
+
+	/**
+	 * Count the clusters of consecutive full slots of a hash table with open addressing.
+	 * @param m		the number of slots.
+	 * @param full	whether a slot holds a key, or anything else which a probe goes on through.
+	 * @return		the number of clusters of each length.
+	 */
+	protected static long[] clusterLengths(int m, IntPredicate full) {
+		long[] histogram = new long[1];
+
+		// starting after an empty slot, so that a cluster wrapping around the end of the table is counted once;
+		// the last slot scanned being that empty one, every cluster is ended by an empty slot.
+		int start = 0;
+		while(start < m && full.test((start + m - 1) % m)) {
+			start++;
+		}
+		if(start == m) {
+			return count(histogram, m);
+		}
+		for(int k = 0, length = 0; k < m; k++) {
+			if(full.test((start + k) % m)) {
+				length++;
+			}else if(length > 0) {
+				histogram = count(histogram, length);
+				length = 0;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Add the number of chains of the given length to the histogram, which is grown as needed.
+	 * @return	the histogram.
+	 */
+	protected static long[] count(long[] histogram, int length) {
+		if(length >= histogram.length) {
+			histogram = Arrays.copyOf(histogram, Math.max(length + 1, 2 * histogram.length));
+		}
+		histogram[length]++;
+		return histogram;
+	}
+
+	/**
+	 * Record the number of slots, or of nodes, compared by a lookup.
+	 */
+	protected final void recordProbes(int probes) {
+		if(metrics != null) {
+			metrics.recordProbes(probes);
+		}
+	}
+
+	/**
+	 * Record a deletion.
+	 * @param rehashed	the number of keys moved to keep the probes valid.
+	 * @param tombstone	whether the slot of the key was left as a tombstone.
+	 */
+	protected final void recordDelete(int rehashed, boolean tombstone) {
+		if(metrics != null) {
+			metrics.recordDelete(rehashed, tombstone);
+		}
+	}
+
+	/**
+	 * Resize the hash table, timing it when the statistics are enabled. The hash tables resize themselves through this method.
+	 * @param newCapacity	the new capacity
+	 */
+	protected final void rehash(int newCapacity) {
+		if(metrics == null) {
+			resize(newCapacity);
+			return;
+		}
+
+		long start = System.nanoTime();
+		resize(newCapacity);
+		metrics.recordResize(System.nanoTime() - start);
+	}
+
 	/**
 	 * Check whether this hash table is empty or not.
 	 * @return	true if this table is empty, otherwise false.
@@ -129,6 +310,65 @@ public abstract class HashTable<K, V> implements Iterable<K> {
 		return get(key) != null;
 	}
 
+	/**
+	 * Insert all the key-value pairs, the table being resized at most once beforehand instead of doubling repeatedly.
+	 * @param keys		the keys to be inserted.
+	 * @param values	the values associated with the keys of the same index.
+	 */
+	public void putAll(K[] keys, V[] values) {
+		if(keys.length != values.length) {
+			throw new IllegalArgumentException("There are " + keys.length + " keys but " + values.length + " values");
+		}
+
+		reserve((long) size() + keys.length);
+		for(int i = 0; i < keys.length; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Search the values associated with many keys at once.</br>
+	 * The hash tables override it to interleave the lookups, so that the cache misses of different keys overlap instead of
+	 * being waited for one after the other.
+	 * @param keys		the keys to be fetched for their values.
+	 * @param results	receives the value associated with the key of the same index, null if there is no such key.
+	 * @return			the number of keys found.
+	 */
+	public int getAll(K[] keys, V[] results) {
+		checkBatch(keys, results);
+
+		int found = 0;
+		for(int i = 0; i < keys.length; i++) {
+			results[i] = get(keys[i]);
+			if(results[i] != null) found++;
+		}
+		return found;
+	}
+
+	/**
+	 * Check that the keys and the results of {@link #getAll(Object[], Object[])} match.
+	 */
+	protected static void checkBatch(Object[] keys, Object[] results) {
+		if(results.length < keys.length) {
+			throw new IllegalArgumentException("There are " + keys.length + " keys but room for " + results.length + " values");
+		}
+	}
+
+	/**
+	 * Resize the hash table once so that it holds the given number of key-value pairs without being resized again.
+	 * @param expected	the number of key-value pairs.
+	 */
+	protected void reserve(long expected) {
+		long needed = (long) (expected / loadFactor) + 1;
+		if(needed <= M) return;
+
+		// a power of two suits every hash table.
+		int capacity = needed >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+		if(capacity > M) {
+			rehash(capacity);
+		}
+	}
+
 	/**
 	 * Hash function for keys.
 	 * @param key	the key to be hashed
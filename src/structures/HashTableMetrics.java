@@ -0,0 +1,158 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * The statistics gathered by a {@link HashTable} once {@link HashTable#setMetricsEnabled(boolean) enabled}.</br></br>
+ *
+ * A lookup records its probe length: the number of slots, or of chain nodes, it has compared before finding its key or giving up.
+ * A skewed histogram of the probe lengths is the sign of a bad {@link Object#hashCode()}, which silently turns the lookups linear.
+ * The metrics are updated by the thread using the hash table, they are not meant to be shared between threads.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class HashTableMetrics {
+
+	/**
+	 * The probe lengths from this one on share the last bucket of the histogram.
+	 */
+	public static final int MAX_TRACKED_PROBES = 32;
+
+	private final long[] probeHistogram = new long[MAX_TRACKED_PROBES + 1];
+
+	private long lookups;
+
+	private long totalProbes;
+
+	private int maxProbes;
+
+	private long resizes;
+
+	private long resizeNanos;
+
+	private long maxResizeNanos;
+
+	private long deletes;
+
+	private long tombstones;
+
+	private long rehashedOnDelete;
+
+	HashTableMetrics() {
+		super();
+	}
+
+	void recordProbes(int probes) {
+		lookups++;
+		totalProbes += probes;
+		probeHistogram[Math.min(probes, MAX_TRACKED_PROBES)]++;
+		if(probes > maxProbes) {
+			maxProbes = probes;
+		}
+	}
+
+	void recordResize(long nanos) {
+		resizes++;
+		resizeNanos += nanos;
+		if(nanos > maxResizeNanos) {
+			maxResizeNanos = nanos;
+		}
+	}
+
+	void recordDelete(int rehashed, boolean tombstone) {
+		deletes++;
+		rehashedOnDelete += rehashed;
+		if(tombstone) {
+			tombstones++;
+		}
+	}
+
+	/**
+	 * @return	the number of lookups, including the ones made by the insertions and the deletions.
+	 */
+	public long lookups() {
+		return lookups;
+	}
+
+	/**
+	 * @return	the number of lookups of each probe length, the last bucket counting the lookups of {@link #MAX_TRACKED_PROBES} probes or more.
+	 */
+	public long[] probeHistogram() {
+		return probeHistogram.clone();
+	}
+
+	/**
+	 * @return	the mean probe length of the lookups, 0 if there was none.
+	 */
+	public double meanProbeLength() {
+		return lookups == 0 ? 0 : (double) totalProbes / lookups;
+	}
+
+	/**
+	 * @return	the longest probe length of the lookups.
+	 */
+	public int maxProbeLength() {
+		return maxProbes;
+	}
+
+	/**
+	 * @return	the number of resizes, including the ones which shrank the table.
+	 */
+	public long resizes() {
+		return resizes;
+	}
+
+	/**
+	 * @return	the total time spent in the resizes, in nanoseconds. An incremental resize only counts the allocation of the new table.
+	 */
+	public long resizeNanos() {
+		return resizeNanos;
+	}
+
+	/**
+	 * @return	the time spent in the longest resize, in nanoseconds.
+	 */
+	public long maxResizeNanos() {
+		return maxResizeNanos;
+	}
+
+	/**
+	 * @return	the number of keys deleted.
+	 */
+	public long deletes() {
+		return deletes;
+	}
+
+	/**
+	 * @return	the number of deletions which left a tombstone in their slot instead of emptying it.
+	 */
+	public long tombstones() {
+		return tombstones;
+	}
+
+	/**
+	 * @return	the number of keys moved to keep the probes valid after a deletion.
+	 */
+	public long rehashedOnDelete() {
+		return rehashedOnDelete;
+	}
+
+	/**
+	 * Clear all the statistics.
+	 */
+	public void reset() {
+		Arrays.fill(probeHistogram, 0);
+		lookups = totalProbes = 0;
+		maxProbes = 0;
+		resizes = resizeNanos = maxResizeNanos = 0;
+		deletes = tombstones = rehashedOnDelete = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "lookups = " + lookups + ", mean probe length = " + meanProbeLength() + ", max probe length = " + maxProbes
+				+ ", resizes = " + resizes + " (" + resizeNanos / 1_000_000 + " ms, max " + maxResizeNanos / 1_000_000 + " ms)"
+				+ ", deletes = " + deletes + ", tombstones = " + tombstones + ", rehashed on delete = " + rehashedOnDelete;
+	}
+}
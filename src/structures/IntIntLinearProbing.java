@@ -0,0 +1,260 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A {@link LinearProbing linear probing} hash table from int keys to int values, without boxing.</br></br>
+ *
+ * Each key-value pair is packed into one long, the key in the high half and the value in the low half,
+ * so that a slot is read and written at once. A slot is empty when its key is 0.
+ * The array of slots is either on the heap or {@link #isOffHeap() off-heap}.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class IntIntLinearProbing extends PrimitiveHashTable {
+
+	/**
+	 * Internal storage for the packed key-value pairs.
+	 */
+	private LongStorage table;
+
+	/**
+	 * The value of the key 0.
+	 */
+	private int zeroValue;
+
+	public IntIntLinearProbing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntIntLinearProbing(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	public IntIntLinearProbing(int initialCapacity, float loadFactor) {
+		this(initialCapacity, loadFactor, false);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 * @param offHeap			whether the slots live in direct memory.
+	 */
+	public IntIntLinearProbing(int initialCapacity, float loadFactor, boolean offHeap) {
+		super(initialCapacity, loadFactor, offHeap);
+		table = LongStorage.allocate(M, offHeap);
+	}
+
+	private static long pack(int key, int value) {
+		return ((long) key << 32) | (value & 0xffffffffL);
+	}
+
+	private static int keyOf(long slot) {
+		return (int) (slot >>> 32);
+	}
+
+	private static int valueOf(long slot) {
+		return (int) slot;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		LongStorage old = table;
+		int oldCapacity = M;
+
+		table = LongStorage.allocate(newCapacity, isOffHeap());
+		setCapacity(newCapacity);
+
+		for(int k = 0; k < oldCapacity; k++) {
+			long slot = old.get(k);
+			int key = keyOf(slot);
+			if(key != 0) {
+				int i = hash(key);
+				while(keyOf(table.get(i)) != 0) {
+					i = (i + 1) & mask;
+				}
+				table.set(i, slot);
+			}
+		}
+	}
+
+	/**
+	 * Insert the key-value pair within the hash table.
+	 * @param key		the key to be inserted.
+	 * @param value		the value associated with its key.
+	 */
+	public void put(int key, int value) {
+		if(key == 0) {
+			if(!hasZeroKey) {
+				hasZeroKey = true;
+				N++;
+			}
+			zeroValue = value;
+			return;
+		}
+
+		int i = hash(key);
+		for(int k; (k = keyOf(table.get(i))) != 0; i = (i + 1) & mask) {
+			if(k == key) {// rewriting if there are duplicates.
+				table.set(i, pack(key, value));
+				return;
+			}
+		}
+
+		if(ensureCapacity()) {
+			i = hash(key);
+			while(keyOf(table.get(i)) != 0) {
+				i = (i + 1) & mask;
+			}
+		}
+
+		table.set(i, pack(key, value));
+		N++;
+	}
+
+	/**
+	 * Search the value associated with the given key.
+	 * @param key	the key to fetched for its value.
+	 * @return		the value associated with the given key, 0 if there is no such key in the hash table.
+	 */
+	public int get(int key) {
+		return getOrDefault(key, 0);
+	}
+
+	/**
+	 * Search the value associated with the given key.
+	 * @param key			the key to fetched for its value.
+	 * @param defaultValue	the value returned when the key is missing.
+	 * @return				the value associated with the given key, the default value if there is no such key in the hash table.
+	 */
+	public int getOrDefault(int key, int defaultValue) {
+		if(key == 0) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		for(int i = hash(key); ; i = (i + 1) & mask) {
+			long slot = table.get(i);
+			int k = keyOf(slot);
+			if(k == key) {
+				return valueOf(slot);
+			}
+			if(k == 0) {
+				return defaultValue;
+			}
+		}
+	}
+
+	/**
+	 * Check whether a given key does exist within the hash table
+	 * @param key	the key to be searched for.
+	 * @return		true if a given key exists, otherwise false.
+	 */
+	public boolean contains(int key) {
+		return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+	}
+
+	/**
+	 * delete key (and associated value) if key is in the hash table.
+	 * @param key	the key to be deleted associated with its value.
+	 */
+	public void delete(int key) {
+		if(key == 0) {
+			if(hasZeroKey) {
+				hasZeroKey = false;
+				zeroValue = 0;
+				N--;
+			}
+			return;
+		}
+
+		int i = indexOf(key);
+		if(i < 0) return;
+
+		// move back the keys of the cluster which would no longer be reachable through the emptied slot.
+		for(int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+			long slot = table.get(j);
+			int k = keyOf(slot);
+			if(k == 0) {
+				break;
+			}
+			if(shiftsBack(i, j, hash(k))) {
+				table.set(i, slot);
+				i = j;
+			}
+		}
+		table.set(i, 0);
+		N--;
+
+		shrink();
+	}
+
+	/**
+	 * @return	the slot of the given non-zero key, or -1 if it is missing.
+	 */
+	private int indexOf(int key) {
+		for(int i = hash(key); ; i = (i + 1) & mask) {
+			int k = keyOf(table.get(i));
+			if(k == key) {
+				return i;
+			}
+			if(k == 0) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * @return	an iterator over the keys, which must not be used once the hash table is modified.
+	 */
+	public PrimitiveIterator.OfInt keys() {
+		return new PrimitiveIterator.OfInt() {
+
+			private boolean zero = hasZeroKey;
+
+			private int next = advance(0);
+
+			private int advance(int i) {
+				while(i < M && keyOf(table.get(i)) == 0) {
+					i++;
+				}
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return zero || next < M;
+			}
+
+			@Override
+			public int nextInt() {
+				if(zero) {
+					zero = false;
+					return 0;
+				}
+				if(next >= M) {
+					throw new NoSuchElementException("No more keys!!");
+				}
+				int key = keyOf(table.get(next));
+				next = advance(next + 1);
+				return key;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		if(hasZeroKey) {
+			str.append("Key = 0, Value = ").append(zeroValue).append("\n");
+		}
+		for(int i = 0; i < M; i++) {
+			long slot = table.get(i);
+			if(keyOf(slot) != 0) {
+				str.append("Key = ").append(keyOf(slot)).append(", Value = ").append(valueOf(slot)).append("\n");
+			}
+		}
+		return str.toString();
+	}
+}
@@ -4,8 +4,11 @@ import java.util.Iterator;
 
 /**
  *  One approach to implementing hashing is to store N key-value pairs in a hash table of size M > N, relying on empty entries in the table to help with collision resolution.</br>
- *  Such methods are called open-addressing hashing methods.
- *  
+ *  Such methods are called open-addressing hashing methods.</br></br>
+ *
+ *  When the hash table is {@link #setIncrementalResize(boolean) resized incrementally}, the old table stays next to the new one until all of its keys are moved.
+ *  The old table is never restructured in the meantime: a key moved or deleted out of it keeps its slot with a null value, so that the probes through it still work.
+ *
  * @author Njoyim Peguy
  *
  * @param <K>	key type
@@ -23,25 +26,63 @@ public final class LinearProbing<K, V> extends HashTable<K, V> {
 	 */
 	private V[] values;
 
+	/**
+	 * The keys of the table being resized, null if there is no incremental resize in progress.
+	 */
+	private K[] oldKeys;
+
+	/**
+	 * The values of the table being resized, a null value marking a key which is no longer in the old table.
+	 */
+	private V[] oldValues;
+
+	/**
+	 * The slots of the old table below this index have been moved.
+	 */
+	private int migrated;
+
 
 	public LinearProbing() {
 		super();
+		keys = (K[]) new Object[M];
+		values = (V[]) new Object[M];
 	}
 
 	public LinearProbing(int initialCapacity) {
-		super(initialCapacity);
+		super(Math.max(initialCapacity, 1));
 		keys = (K[]) new Object[M];
 		values = (V[]) new Object[M];
 	}
 
 	public LinearProbing(int initialCapacity, float loadFactor) {
-		super(initialCapacity, loadFactor);
+		super(Math.max(initialCapacity, 1), loadFactor);
 		keys = (K[]) new Object[M];
 		values = (V[]) new Object[M];
 	}
 
+	@Override
+	protected boolean supportsIncrementalResize() {
+		return true;
+	}
+
+	@Override
+	public boolean isResizing() {
+		return oldKeys != null;
+	}
+
 	@Override
 	protected void resize(int newCapacity) {
+		completeResize();
+
+		if(isIncrementalResize() && N > 0) {
+			oldKeys = keys;
+			oldValues = values;
+			migrated = 0;
+			keys = (K[]) new Object[newCapacity];
+			values = (V[]) new Object[newCapacity];
+			M = newCapacity;
+			return;
+		}
 
 		LinearProbing<K, V> temp = new LinearProbing<K, V>(newCapacity, loadFactor());
 
@@ -58,86 +99,242 @@ public final class LinearProbing<K, V> extends HashTable<K, V> {
 		return;
 	}
 
+	@Override
+	protected void completeResize() {
+		while(oldKeys != null) {
+			migrate(Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Move the keys of the next slots of the old table to the new table, then drop the old table once it is empty.
+	 * @param slots	the number of slots to move.
+	 */
+	private void migrate(int slots) {
+		if(oldKeys == null) return;
+
+		int end = (int) Math.min(oldKeys.length, (long) migrated + slots);
+		for(; migrated < end; migrated++) {
+			if(oldValues[migrated] != null) {
+				place(oldKeys[migrated], oldValues[migrated]);
+				oldValues[migrated] = null;
+			}
+		}
+
+		if(migrated == oldKeys.length) {
+			oldKeys = null;
+			oldValues = null;
+		}
+	}
+
+	/**
+	 * @return	the slot of the given key in the old table, or -1 if it is not there (anymore).
+	 */
+	private int oldIndexOf(K key) {
+		int m = oldKeys.length;
+		for(int i = (key.hashCode() & 0x7fffffff) % m; oldKeys[i] != null; i = (i + 1) % m) {
+			if(oldKeys[i].equals(key)) {
+				return oldValues[i] == null ? -1 : i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Insert a key which is not in the table, without resizing it.
+	 */
+	private void place(K key, V value) {
+		int i = hash(key);
+		while(keys[i] != null) {
+			i = (i + 1) % M;
+		}
+		keys[i] = key;
+		values[i] = value;
+	}
+
 	@Override
 	public void put(K key, V value) {
 
 		if(value == null) {
 			delete(key);
+			return;
 		}
 
-		// When the number of entries in the hash table exceeds the product of the load factor and the current capacity, 
-		// the hash table is rehashed (i.e., we double the number of slots within the hash table).
-		if(N == threshold()) {
-			resize(2*M);
-		}
+		migrate(MIGRATION_STEP);
 
-		// When there is a collision (i.e., when we hash to a table index that is already occupied with a key different from the search key), 
+		// When there is a collision (i.e., when we hash to a table index that is already occupied with a key different from the search key),
 		// then we just check the next entry in the table (by incrementing the index).
-		int i = hash(key);
-		while(keys[i] != null) {
+		int probes = 1;
+		for(int i = hash(key); keys[i] != null; i = (i + 1) % M, probes++) {
 			if(keys[i].equals(key)) {// rewriting if there are duplicates.
 				values[i] = value;
+				recordProbes(probes);
 				return;
 			}
-			i = (i + 1) % M;
 		}
+		recordProbes(probes);
 
-		// from here, we have found a non-occupied entry.
-		keys[i] = key;
-		values[i] = value;
+		if(oldKeys != null) {
+			int i = oldIndexOf(key);
+			if(i >= 0) {// the key is moved to the new table.
+				oldValues[i] = null;
+				place(key, value);
+				return;
+			}
+		}
+
+		// When the number of entries in the hash table exceeds the product of the load factor and the current capacity,
+		// the hash table is rehashed (i.e., we double the number of slots within the hash table).
+		if(N >= threshold()) {
+			rehash(2*M);
+		}
+
+		// from here, we know that the key is nowhere.
+		place(key, value);
 		N++;
 	}
 
 	@Override
 	public V get(K key) {
-		for (int i = hash(key); keys[i] != null; i = (i + 1) % M) 
-			if (keys[i].equals(key))
+		migrate(MIGRATION_STEP);
+
+		int probes = 1;
+		for (int i = hash(key); keys[i] != null; i = (i + 1) % M, probes++)
+			if (keys[i].equals(key)) {
+				recordProbes(probes);
 				return values[i];
+			}
+		recordProbes(probes);
+
+		if(oldKeys != null) {
+			int i = oldIndexOf(key);
+			if(i >= 0) {
+				return oldValues[i];
+			}
+		}
 		return null;
 	}
 
+	@Override
+	public int getAll(K[] batch, V[] results) {
+		checkBatch(batch, results);
+		migrate(MIGRATION_STEP);
+
+		int found = 0;
+		int slot[] = new int[LOOKUP_BATCH];
+		Object first[] = new Object[LOOKUP_BATCH];
+		for(int from = 0; from < batch.length; from += LOOKUP_BATCH) {
+			int n = Math.min(LOOKUP_BATCH, batch.length - from);
+
+			// the lookups of a group go through each stage together: the loads of a stage are independent of each other,
+			// so that the processor waits for their cache misses at the same time instead of one after the other.
+			// 1) the hashes, and the keys of the first probed slots,
+			for(int j = 0; j < n; j++) {
+				slot[j] = hash(batch[from + j]);
+				first[j] = keys[slot[j]];
+			}
+
+			// 2) the comparisons with these keys, the rare collisions being probed further on their own.
+			for(int j = 0; j < n; j++) {
+				K key = batch[from + j];
+				V value = null;
+				int probes = 1;
+				if(first[j] != null) {
+					if(first[j].equals(key)) {
+						value = values[slot[j]];
+					}else {
+						for(int i = (slot[j] + 1) % M; keys[i] != null; i = (i + 1) % M) {
+							probes++;
+							if(keys[i].equals(key)) {
+								value = values[i];
+								break;
+							}
+						}
+						if(value == null) probes++;// the empty slot ending the probe.
+					}
+				}
+				recordProbes(probes);
+				if(value == null && oldKeys != null) {
+					int i = oldIndexOf(key);
+					value = i < 0 ? null : oldValues[i];
+				}
+
+				results[from + j] = value;
+				if(value != null) found++;
+				first[j] = null;
+			}
+		}
+		return found;
+	}
+
 	@Override
 	public void delete(K key) {
 
-		// Base case.
-		if(!contains(key)) return;
+		migrate(MIGRATION_STEP);
+
+		if(oldKeys != null) {
+			int i = oldIndexOf(key);
+			if(i >= 0) {// the slot is kept for the probes going through it.
+				oldValues[i] = null;
+				N--;
+				recordDelete(0, true);
+				return;
+			}
+		}
 
 		// find position i of key
-		int i = hash(key);
-		while (!key.equals(keys[i])) {
+		int i = hash(key), probes = 1;
+		while (keys[i] != null && !key.equals(keys[i])) {
 			i = (i + 1) % M;
+			probes++;
 		}
+		recordProbes(probes);
+
+		// Base case.
+		if(keys[i] == null) return;
 
 		// delete key and associated value
 		keys[i] = null;
 		values[i] = null;
 
 		// rehash all keys in same cluster
+		int rehashed = 0;
 		i = (i + 1) % M;
-		while (keys[i] != null) {
+		for (; keys[i] != null; rehashed++) {
 			// delete keys[i] an values[i] and reinsert
 			K  keyToRehash = keys[i];
 			V valueToRehash = values[i];
 			keys[i] = null;
 			values[i] = null;
-			N--;// very important!!!
-			put(keyToRehash, valueToRehash);
+			place(keyToRehash, valueToRehash);
 			i = (i + 1) % M;
 		}
 		N--;
+		recordDelete(rehashed, false);
 
-		if(N > 0 && N <= threshold() / 2) {
-			resize(M / 2);
+		// a quarter of the threshold, so that the halved table is not full at once.
+		if(oldKeys == null && M > DEFAULT_CAPACITY && N <= threshold() / 4) {
+			rehash(M / 2);
 		}
 		return;
 	}
 
+	@Override
+	public long[] chainLengths() {
+		return clusterLengths(M, i -> keys[i] != null);
+	}
+
 	@Override
 	public String toString() {
 		String str =  "";
 		for(int i = 0; i < M; i++) {
 			if(keys[i] != null) {
-				str += "Key = " + keys[i] + ", Value = " + values[i] + "\n"; 
+				str += "Key = " + keys[i] + ", Value = " + values[i] + "\n";
+			}
+		}
+		for(int i = migrated; oldKeys != null && i < oldKeys.length; i++) {
+			if(oldValues[i] != null) {
+				str += "Key = " + oldKeys[i] + ", Value = " + oldValues[i] + "\n";
 			}
 		}
 		return str;
@@ -152,6 +349,11 @@ public final class LinearProbing<K, V> extends HashTable<K, V> {
 				queue.Enqueue(keys[i]);
 			}
 		}
+		for(int i = migrated; oldKeys != null && i < oldKeys.length; i++) {
+			if(oldValues[i] != null) {
+				queue.Enqueue(oldKeys[i]);
+			}
+		}
 		return queue;
 	}
 
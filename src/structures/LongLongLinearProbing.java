@@ -0,0 +1,48 @@
+package structures;
+
+/**
+ * A {@link LinearProbing linear probing} hash table from long keys to long values, without boxing.</br></br>
+ *
+ * Each key is stored next to its value in one array of longs, so that a lookup reads a single cache line:
+ * the slot i holds its key at 2i and its value at 2i+1.
+ * This array is either on the heap or {@link #isOffHeap() off-heap}.</br>
+ * A key is deleted by moving the following keys of its cluster back instead of re-inserting them.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class LongLongLinearProbing extends AbstractLongLongLinearProbing {
+
+	public LongLongLinearProbing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongLongLinearProbing(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	public LongLongLinearProbing(int initialCapacity, float loadFactor) {
+		this(initialCapacity, loadFactor, false);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 * @param offHeap			whether the slots live in direct memory.
+	 */
+	public LongLongLinearProbing(int initialCapacity, float loadFactor, boolean offHeap) {
+		super(initialCapacity, loadFactor, offHeap);
+		table = LongStorage.allocate(2L * M, offHeap);
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		LongStorage old = table;
+		int oldCapacity = M;
+
+		table = LongStorage.allocate(2L * newCapacity, isOffHeap());
+		setCapacity(newCapacity);
+		rehash(old, oldCapacity, table, newCapacity);
+	}
+}
@@ -0,0 +1,247 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A {@link LinearProbing linear probing} hash table from long keys to objects, without boxing the keys.</br></br>
+ *
+ * The keys are probed in an array of longs, either on the heap or {@link #isOffHeap() off-heap},
+ * so that a lookup does not dereference the keys it goes through.
+ * The values are references, hence they stay in an array on the heap.
+ * As in {@link LinearProbing}, a null value can't be stored: putting it deletes the key.
+ *
+ * @author Njoyim Peguy
+ *
+ * @param <V>	value type.
+ */
+public final class LongObjectLinearProbing<V> extends PrimitiveHashTable {
+
+	/**
+	 * Internal storage for keys.
+	 */
+	private LongStorage keys;
+
+	/**
+	 * Internal storage for values.
+	 */
+	private V[] values;
+
+	/**
+	 * The value of the key 0.
+	 */
+	private V zeroValue;
+
+	public LongObjectLinearProbing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongObjectLinearProbing(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	public LongObjectLinearProbing(int initialCapacity, float loadFactor) {
+		this(initialCapacity, loadFactor, false);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 * @param offHeap			whether the keys live in direct memory.
+	 */
+	public LongObjectLinearProbing(int initialCapacity, float loadFactor, boolean offHeap) {
+		super(initialCapacity, loadFactor, offHeap);
+		keys = LongStorage.allocate(M, offHeap);
+		values = (V[]) new Object[M];
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		LongStorage oldKeys = keys;
+		V[] oldValues = values;
+		int oldCapacity = M;
+
+		keys = LongStorage.allocate(newCapacity, isOffHeap());
+		values = (V[]) new Object[newCapacity];
+		setCapacity(newCapacity);
+
+		for(int k = 0; k < oldCapacity; k++) {
+			long key = oldKeys.get(k);
+			if(key != 0) {
+				int i = hash(key);
+				while(keys.get(i) != 0) {
+					i = (i + 1) & mask;
+				}
+				keys.set(i, key);
+				values[i] = oldValues[k];
+			}
+		}
+	}
+
+	/**
+	 * Insert the key-value pair within the hash table.
+	 * @param key		the key to be inserted.
+	 * @param value		the value associated with its key, null to delete the key.
+	 */
+	public void put(long key, V value) {
+		if(value == null) {
+			delete(key);
+			return;
+		}
+
+		if(key == 0) {
+			if(!hasZeroKey) {
+				hasZeroKey = true;
+				N++;
+			}
+			zeroValue = value;
+			return;
+		}
+
+		int i = hash(key);
+		for(long k; (k = keys.get(i)) != 0; i = (i + 1) & mask) {
+			if(k == key) {// rewriting if there are duplicates.
+				values[i] = value;
+				return;
+			}
+		}
+
+		if(ensureCapacity()) {
+			i = hash(key);
+			while(keys.get(i) != 0) {
+				i = (i + 1) & mask;
+			}
+		}
+
+		keys.set(i, key);
+		values[i] = value;
+		N++;
+	}
+
+	/**
+	 * Search the value associated with the given key.
+	 * @param key	the key to fetched for its value.
+	 * @return		the value associated with the given key. Null if there is no such key in the hash table.
+	 */
+	public V get(long key) {
+		if(key == 0) {
+			return zeroValue;
+		}
+		int i = indexOf(key);
+		return i < 0 ? null : values[i];
+	}
+
+	/**
+	 * Check whether a given key does exist within the hash table
+	 * @param key	the key to be searched for.
+	 * @return		true if a given key exists, otherwise false.
+	 */
+	public boolean contains(long key) {
+		return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+	}
+
+	/**
+	 * delete key (and associated value) if key is in the hash table.
+	 * @param key	the key to be deleted associated with its value.
+	 */
+	public void delete(long key) {
+		if(key == 0) {
+			if(hasZeroKey) {
+				hasZeroKey = false;
+				zeroValue = null;
+				N--;
+			}
+			return;
+		}
+
+		int i = indexOf(key);
+		if(i < 0) return;
+
+		// move back the keys of the cluster which would no longer be reachable through the emptied slot.
+		for(int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+			long k = keys.get(j);
+			if(k == 0) {
+				break;
+			}
+			if(shiftsBack(i, j, hash(k))) {
+				keys.set(i, k);
+				values[i] = values[j];
+				i = j;
+			}
+		}
+		keys.set(i, 0);
+		values[i] = null;
+		N--;
+
+		shrink();
+	}
+
+	/**
+	 * @return	the slot of the given non-zero key, or -1 if it is missing.
+	 */
+	private int indexOf(long key) {
+		for(int i = hash(key); ; i = (i + 1) & mask) {
+			long k = keys.get(i);
+			if(k == key) {
+				return i;
+			}
+			if(k == 0) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * @return	an iterator over the keys, which must not be used once the hash table is modified.
+	 */
+	public PrimitiveIterator.OfLong keys() {
+		return new PrimitiveIterator.OfLong() {
+
+			private boolean zero = hasZeroKey;
+
+			private int next = advance(0);
+
+			private int advance(int i) {
+				while(i < M && keys.get(i) == 0) {
+					i++;
+				}
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return zero || next < M;
+			}
+
+			@Override
+			public long nextLong() {
+				if(zero) {
+					zero = false;
+					return 0;
+				}
+				if(next >= M) {
+					throw new NoSuchElementException("No more keys!!");
+				}
+				long key = keys.get(next);
+				next = advance(next + 1);
+				return key;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		if(hasZeroKey) {
+			str.append("Key = 0, Value = ").append(zeroValue).append("\n");
+		}
+		for(int i = 0; i < M; i++) {
+			long key = keys.get(i);
+			if(key != 0) {
+				str.append("Key = ").append(key).append(", Value = ").append(values[i]).append("\n");
+			}
+		}
+		return str.toString();
+	}
+}
@@ -0,0 +1,187 @@
+package structures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A fixed-length array of longs, either on the heap, in direct (off-heap) memory, or in a memory-mapped file.</br></br>
+ *
+ * The longs are stored in pages of at most {@link #PAGE_SIZE} elements, so that the length is not bounded by
+ * the maximum length of a Java array nor by the 2 GB of a {@link ByteBuffer}.
+ * The elements are initialized to 0.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+abstract class LongStorage {
+
+	private static final int PAGE_SHIFT = 24;
+
+	/**
+	 * The number of longs of a page: 128 MB.
+	 */
+	static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	private final long length;
+
+	private LongStorage(long length) {
+		this.length = length;
+	}
+
+	/**
+	 * Allocate a new storage.
+	 * @param length	the number of longs.
+	 * @param offHeap	whether the longs live in direct memory, out of the reach of the garbage collector.
+	 * @return			the new storage, filled with zeros.
+	 */
+	static LongStorage allocate(long length, boolean offHeap) {
+		if(length < 0) {
+			throw new IllegalArgumentException("Illegal length: " + length);
+		}
+		return offHeap ? new Direct(length) : new Heap(length);
+	}
+
+	/**
+	 * Map a region of a file, which is extended if it is shorter than the region.
+	 * @param channel	the file, opened for reading and writing.
+	 * @param position	the offset of the region in the file, in bytes.
+	 * @param length	the number of longs.
+	 * @return			the storage whose longs are the ones of the file; the new bytes of an extended file are zeros.
+	 * @throws IOException	if the file can't be mapped.
+	 */
+	static Mapped map(FileChannel channel, long position, long length) throws IOException {
+		if(length < 0) {
+			throw new IllegalArgumentException("Illegal length: " + length);
+		}
+		return new Mapped(channel, position, length);
+	}
+
+	/**
+	 * @return	the number of longs.
+	 */
+	final long length() {
+		return length;
+	}
+
+	abstract long get(long index);
+
+	abstract void set(long index, long value);
+
+	/**
+	 * @return	true if the longs live in direct memory.
+	 */
+	abstract boolean isOffHeap();
+
+	private static int pages(long length) {
+		return (int) ((length + PAGE_MASK) >>> PAGE_SHIFT);
+	}
+
+	private static int pageLength(long length, int page) {
+		return (int) Math.min(PAGE_SIZE, length - ((long) page << PAGE_SHIFT));
+	}
+
+	private static final class Heap extends LongStorage {
+
+		private final long[][] pages;
+
+		private Heap(long length) {
+			super(length);
+			pages = new long[pages(length)][];
+			for(int p = 0; p < pages.length; p++) {
+				pages[p] = new long[pageLength(length, p)];
+			}
+		}
+
+		@Override
+		long get(long index) {
+			return pages[(int) (index >>> PAGE_SHIFT)][(int) index & PAGE_MASK];
+		}
+
+		@Override
+		void set(long index, long value) {
+			pages[(int) (index >>> PAGE_SHIFT)][(int) index & PAGE_MASK] = value;
+		}
+
+		@Override
+		boolean isOffHeap() {
+			return false;
+		}
+	}
+
+	private static final class Direct extends LongStorage {
+
+		private final LongBuffer[] pages;
+
+		private Direct(long length) {
+			super(length);
+			pages = new LongBuffer[pages(length)];
+			for(int p = 0; p < pages.length; p++) {
+				// a new direct buffer is zeroed, native order avoids swapping the bytes of each long.
+				pages[p] = ByteBuffer.allocateDirect(pageLength(length, p) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+			}
+		}
+
+		@Override
+		long get(long index) {
+			return pages[(int) (index >>> PAGE_SHIFT)].get((int) index & PAGE_MASK);
+		}
+
+		@Override
+		void set(long index, long value) {
+			pages[(int) (index >>> PAGE_SHIFT)].put((int) index & PAGE_MASK, value);
+		}
+
+		@Override
+		boolean isOffHeap() {
+			return true;
+		}
+	}
+
+	static final class Mapped extends LongStorage {
+
+		private final MappedByteBuffer[] buffers;
+
+		private final LongBuffer[] pages;
+
+		private Mapped(FileChannel channel, long position, long length) throws IOException {
+			super(length);
+			buffers = new MappedByteBuffer[pages(length)];
+			pages = new LongBuffer[buffers.length];
+			for(int p = 0; p < pages.length; p++) {
+				buffers[p] = channel.map(FileChannel.MapMode.READ_WRITE, position + ((long) p << PAGE_SHIFT) * Long.BYTES, (long) pageLength(length, p) * Long.BYTES);
+				// a fixed order rather than the native one, so that the file is read the same on every machine.
+				pages[p] = buffers[p].order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			}
+		}
+
+		@Override
+		long get(long index) {
+			return pages[(int) (index >>> PAGE_SHIFT)].get((int) index & PAGE_MASK);
+		}
+
+		@Override
+		void set(long index, long value) {
+			pages[(int) (index >>> PAGE_SHIFT)].put((int) index & PAGE_MASK, value);
+		}
+
+		@Override
+		boolean isOffHeap() {
+			return true;
+		}
+
+		/**
+		 * Write the modified longs to the storage device.
+		 */
+		void force() {
+			for(MappedByteBuffer buffer : buffers) {
+				buffer.force();
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package structures;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A tournament tree of losers used to merge <em>k</em> sorted sources in one pass.</br></br>
+ *
+ * The leaves are the current heads of the sources, each internal node remembers the source which lost the match played there
+ * and the overall winner (the smallest head) is kept apart at the top of the tree.
+ * Once the winner has been taken, only the matches on the path from its leaf to the root are replayed,
+ * that is to say <em>log k</em> comparisons per element instead of the <em>k</em> comparisons of a linear scan
+ * and without the two comparisons per level of a binary heap.</br>
+ * Ties are broken by the index of the source so that the merge is stable.
+ * The elements are compared by their natural order unless a comparator is given.
+ *
+ * @author Njoyim Peguy
+ *
+ * @param <T>	the type of elements.
+ */
+public final class LoserTree<T extends Comparable<? super T>> implements Iterator<T> {
+
+	/**
+	 * The number of sources.
+	 */
+	private final int k;
+
+	private final Iterator<? extends T>[] sources;
+
+	/**
+	 * The order of the elements, null for the natural order.
+	 */
+	private final Comparator<? super T> comparator;
+
+	/**
+	 * The current head of each source, null once the source is exhausted.
+	 */
+	private final Object[] heads;
+
+	/**
+	 * tree[0] is the winner, tree[1 .. k-1] are the losers of the internal nodes.</br>
+	 * The leaf of the source i is at the virtual position k + i.
+	 */
+	private final int[] tree;
+
+	/**
+	 * Create a loser tree over the given sorted sources.
+	 * @param sources	the sorted sources, none of them yields null.
+	 */
+	@SafeVarargs
+	public LoserTree(Iterator<? extends T>... sources) {
+		this(null, sources);
+	}
+
+	/**
+	 * Create a loser tree over the given sources, sorted in the order given by the comparator.
+	 * @param comparator	the ordering to be used, null for the natural order.
+	 * @param sources		the sorted sources, none of them yields null.
+	 */
+	@SafeVarargs
+	public LoserTree(Comparator<? super T> comparator, Iterator<? extends T>... sources) {
+		this.k = sources.length;
+		this.sources = sources;
+		this.comparator = comparator;
+		this.heads = new Object[k];
+		this.tree = new int[Math.max(k, 1)];
+
+		for(int i = 0; i < k; i++) {
+			advance(i);
+		}
+
+		if(k > 0) {
+			tree[0] = build(1);
+		}
+	}
+
+	/**
+	 * Create a loser tree over the sorted ranges runs[i][from[i] .. to[i]-1].
+	 * @param runs	the sorted arrays.
+	 * @param from	the first index of each range.
+	 * @param to	the index after the last one of each range.
+	 */
+	public LoserTree(T[][] runs, int[] from, int[] to) {
+		this(ranges(runs, from, to));
+	}
+
+	/**
+	 * Create a loser tree over the given sorted arrays.
+	 * @param runs	the sorted arrays.
+	 */
+	@SafeVarargs
+	public LoserTree(T[]... runs) {
+		this(ranges(runs, new int[runs.length], lengths(runs)));
+	}
+
+	@Override
+	public boolean hasNext() {
+		return k > 0 && heads[tree[0]] != null;
+	}
+
+	@Override
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException("All of the sources are exhausted!!");
+		}
+
+		int winner = tree[0];
+		T min = (T) heads[winner];
+		advance(winner);
+
+		// replaying the matches from the leaf of the winner up to the root.
+		for(int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+			if(beats(tree[node], winner)) {
+				int loser = winner;
+				winner = tree[node];
+				tree[node] = loser;
+			}
+		}
+		tree[0] = winner;
+		return min;
+	}
+
+	/**
+	 * Play the matches of the sub-tree rooted at the given node.
+	 * @param node	the node of the tree.
+	 * @return		the winner of the sub-tree.
+	 */
+	private int build(int node) {
+		if(node >= k) {
+			return node - k;
+		}
+
+		int left = build(2*node);
+		int right = build(2*node + 1);
+
+		if(beats(left, right)) {
+			tree[node] = right;
+			return left;
+		}
+		tree[node] = left;
+		return right;
+	}
+
+	/**
+	 * Check whether the head of the source i wins against the head of the source j.
+	 * An exhausted source always loses and ties go to the smaller index.
+	 */
+	private boolean beats(int i, int j) {
+		Object first = heads[i], second = heads[j];
+		if(second == null) {
+			return first != null || i < j;
+		}
+		if(first == null) {
+			return false;
+		}
+		int cmp = (comparator == null) ? ((T) first).compareTo((T) second) : comparator.compare((T) first, (T) second);
+		return cmp < 0 || (cmp == 0 && i < j);
+	}
+
+	/**
+	 * Fetch the next head of the given source.
+	 */
+	private void advance(int source) {
+		if(sources[source].hasNext()) {
+			T head = sources[source].next();
+			if(head == null) {
+				throw new IllegalArgumentException("Can't merge null values!!");
+			}
+			heads[source] = head;
+		}else {
+			heads[source] = null;
+		}
+	}
+
+	private static <T> int[] lengths(T[][] runs) {
+		int[] lengths = new int[runs.length];
+		for(int i = 0; i < runs.length; i++) {
+			lengths[i] = runs[i].length;
+		}
+		return lengths;
+	}
+
+	private static <T> Iterator<T>[] ranges(T[][] runs, int[] from, int[] to) {
+		Iterator<T>[] iterators = new Iterator[runs.length];
+		for(int i = 0; i < runs.length; i++) {
+			iterators[i] = new Range<>(runs[i], from[i], to[i]);
+		}
+		return iterators;
+	}
+
+	/**
+	 * Iterates over array[from .. to-1].
+	 */
+	private static final class Range<T> implements Iterator<T> {
+
+		private final T[] array;
+		private int position;
+		private final int end;
+
+		private Range(T[] array, int from, int to) {
+			this.array = array;
+			this.position = from;
+			this.end = to;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < end;
+		}
+
+		@Override
+		public T next() {
+			return array[position++];
+		}
+	}
+}
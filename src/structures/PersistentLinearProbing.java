@@ -0,0 +1,278 @@
+package structures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link LongLongLinearProbing} whose slots are the bytes of a memory-mapped file, so that the hash table outlives the process.</br></br>
+ *
+ * The file is a header of {@value #HEADER_BYTES} bytes followed by the slots, each being a key and its value as little-endian longs.
+ * The table is the file: a process {@link #open(Path) opening} it maps it and serves the lookups at once,
+ * the operating system reading the pages of the slots as they are probed, instead of inserting every key again.
+ * Variable-length values are kept in a file of their own, the value of a key being their offset in that file.</br>
+ * The modifications reach the file when the operating system writes the mapped pages back, which outlasts the end of the process
+ * but not a crash of the machine: {@link #flush()} forces them to the storage device.
+ * A resize writes the new table to a temporary file, which then replaces the file by an atomic rename,
+ * so that the file holds either the old or the new table. A put or a delete interrupted halfway may leave a cluster inconsistent.
+ * Since a resize rewrites the whole file, a delete never shrinks the table: {@link #compact()} does it once, after many deletions.</br>
+ * The file is locked while the hash table is open: a single process at a time uses it.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public final class PersistentLinearProbing extends AbstractLongLongLinearProbing implements Closeable {
+
+	/**
+	 * The first long of the file: "LPTABLE" followed by a 0.
+	 */
+	private static final long MAGIC = 0x4C505441424C4500L;
+
+	private static final long VERSION = 1;
+
+	/**
+	 * The number of longs of the header, whose unused longs are reserved.
+	 */
+	private static final int HEADER_LONGS = 8;
+
+	private static final int HEADER_BYTES = HEADER_LONGS * Long.BYTES;
+
+	// the indexes of the fields of the header.
+	private static final int MAGIC_INDEX = 0;
+	private static final int VERSION_INDEX = 1;
+	private static final int CAPACITY_INDEX = 2;
+	private static final int SIZE_INDEX = 3;
+	private static final int LOAD_FACTOR_INDEX = 4;
+	private static final int ZERO_KEY_INDEX = 5;
+	private static final int ZERO_VALUE_INDEX = 6;
+
+	/**
+	 * The path of the file.
+	 */
+	private final Path file;
+
+	private FileChannel channel;
+
+	private FileLock lock;
+
+	private LongStorage.Mapped header;
+
+	/**
+	 * The slots, the keys and values interleaved: the {@link #table} itself, mapped.
+	 */
+	private LongStorage.Mapped slots;
+
+	private PersistentLinearProbing(Path file, FileChannel channel, FileLock lock, LongStorage.Mapped header, int capacity, float loadFactor) throws IOException {
+		super(capacity, loadFactor, true);
+		this.file = file;
+		this.channel = channel;
+		this.lock = lock;
+		this.header = header;
+		table = slots = LongStorage.map(channel, HEADER_BYTES, 2L * M);
+	}
+
+	/**
+	 * Create a hash table with a default number of slots and a default load factor.
+	 * @param file	the file of the hash table, which must not exist.
+	 * @return		the empty hash table.
+	 * @throws IOException	if the file exists or can't be created.
+	 */
+	public static PersistentLinearProbing create(Path file) throws IOException {
+		return create(file, DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param file				the file of the hash table, which must not exist.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 * @return					the empty hash table.
+	 * @throws IOException	if the file exists or can't be created.
+	 */
+	public static PersistentLinearProbing create(Path file, int initialCapacity, float loadFactor) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			FileLock lock = lock(channel, file);
+			LongStorage.Mapped header = LongStorage.map(channel, 0, HEADER_LONGS);
+			PersistentLinearProbing table = new PersistentLinearProbing(file, channel, lock, header, initialCapacity, loadFactor);
+			table.writeHeader();
+			return table;
+		}catch(IOException | RuntimeException e) {
+			channel.close();
+			Files.deleteIfExists(file);
+			throw e;
+		}
+	}
+
+	/**
+	 * Open a hash table saved in a file, without reading its slots.
+	 * @param file	the file of the hash table.
+	 * @return		the hash table.
+	 * @throws IOException	if the file can't be opened or does not hold a hash table.
+	 */
+	public static PersistentLinearProbing open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			FileLock lock = lock(channel, file);
+			if(channel.size() < HEADER_BYTES) {
+				throw new IOException(file + " is not a hash table: it is too short");
+			}
+			LongStorage.Mapped header = LongStorage.map(channel, 0, HEADER_LONGS);
+			if(header.get(MAGIC_INDEX) != MAGIC) {
+				throw new IOException(file + " is not a hash table");
+			}
+			if(header.get(VERSION_INDEX) != VERSION) {
+				throw new IOException(file + " has the unsupported version " + header.get(VERSION_INDEX));
+			}
+			long capacity = header.get(CAPACITY_INDEX);
+			if(capacity < 2 || capacity > MAXIMUM_CAPACITY || Long.bitCount(capacity) != 1
+					|| channel.size() != HEADER_BYTES + 2 * capacity * Long.BYTES) {
+				throw new IOException(file + " is corrupted: its capacity is " + capacity + " for " + channel.size() + " bytes");
+			}
+
+			PersistentLinearProbing table = new PersistentLinearProbing(file, channel, lock, header, (int) capacity,
+					Float.intBitsToFloat((int) header.get(LOAD_FACTOR_INDEX)));
+			table.N = (int) header.get(SIZE_INDEX);
+			table.hasZeroKey = header.get(ZERO_KEY_INDEX) != 0;
+			table.zeroValue = header.get(ZERO_VALUE_INDEX);
+			return table;
+		}catch(IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static FileLock lock(FileChannel channel, Path file) throws IOException {
+		FileLock lock = channel.tryLock();
+		if(lock == null) {
+			throw new IOException(file + " is used by another process");
+		}
+		return lock;
+	}
+
+	/**
+	 * Keep the size and the pair of the key 0, which are not in the slots, in the header.
+	 */
+	@Override
+	void pairsChanged() {
+		header.set(SIZE_INDEX, N);
+		header.set(ZERO_KEY_INDEX, hasZeroKey ? 1 : 0);
+		header.set(ZERO_VALUE_INDEX, zeroValue);
+	}
+
+	/**
+	 * A delete never shrinks the table, whose resize rewrites the whole file: see {@link #compact()}.
+	 */
+	@Override
+	void deleted() {
+		return;
+	}
+
+	private void writeHeader() {
+		header.set(MAGIC_INDEX, MAGIC);
+		header.set(VERSION_INDEX, VERSION);
+		header.set(CAPACITY_INDEX, M);
+		header.set(SIZE_INDEX, N);
+		header.set(LOAD_FACTOR_INDEX, Float.floatToIntBits(loadFactor()));
+		header.set(ZERO_KEY_INDEX, hasZeroKey ? 1 : 0);
+		header.set(ZERO_VALUE_INDEX, zeroValue);
+	}
+
+	/**
+	 * Write the new table to a temporary file, then rename it over the file.
+	 * @throws UncheckedIOException	if the new file can't be written, the hash table being left as it was.
+	 */
+	@Override
+	protected void resize(int newCapacity) {
+		Path temp = file.resolveSibling(file.getFileName() + ".resize");
+		FileChannel newChannel = null;
+		try {
+			newChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			FileLock newLock = lock(newChannel, temp);
+			LongStorage.Mapped newHeader = LongStorage.map(newChannel, 0, HEADER_LONGS);
+			LongStorage.Mapped newTable = LongStorage.map(newChannel, HEADER_BYTES, 2L * newCapacity);
+
+			rehash(table, M, newTable, newCapacity);
+
+			LongStorage.Mapped oldHeader = header;
+			int oldCapacity = M;
+			header = newHeader;
+			setCapacity(newCapacity);
+			writeHeader();
+			newTable.force();
+			newHeader.force();
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}catch(IOException e) {
+				header = oldHeader;
+				setCapacity(oldCapacity);
+				throw e;
+			}
+
+			table = slots = newTable;
+			channel.close();// releases the lock of the replaced file.
+			channel = newChannel;
+			lock = newLock;
+		}catch(IOException e) {
+			try {
+				if(newChannel != null) newChannel.close();
+				Files.deleteIfExists(temp);
+			}catch(IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw new UncheckedIOException("Can't resize " + file, e);
+		}
+	}
+
+	/**
+	 * Shrink the table, in a single resize, to the fewest slots holding its pairs at half its threshold,
+	 * so that the next insertions do not double it again at once. Nothing is done if the table is not larger than that.
+	 */
+	public void compact() {
+		int capacity = DEFAULT_CAPACITY;
+		while(capacity < M && (int) (loadFactor() * capacity) / 2 < N) {
+			capacity <<= 1;
+		}
+		if(capacity < M) {
+			resize(capacity);
+		}
+	}
+
+	/**
+	 * Force the modifications to the storage device, so that they survive a crash of the machine.
+	 */
+	public void flush() {
+		slots.force();
+		header.force();
+	}
+
+	/**
+	 * Flush the hash table and release its file. The hash table must not be used anymore.
+	 * @throws IOException	if the file can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(channel == null) return;
+
+		flush();
+		channel.close();
+		channel = null;
+		lock = null;
+		header = null;
+		table = slots = null;
+	}
+
+	/**
+	 * @return	the path of the file of the hash table.
+	 */
+	public Path file() {
+		return file;
+	}
+}
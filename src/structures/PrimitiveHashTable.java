@@ -0,0 +1,208 @@
+package structures;
+
+/**
+ * The common part of the open-addressing hash tables whose keys are primitives, which neither box their keys
+ * nor allocate an entry per key-value pair.</br></br>
+ *
+ * The probing is the one of {@link LinearProbing}, with two differences due to the primitive keys:
+ * <ul>
+ * <li>there is no null to mark an empty slot, so the key 0 marks it and the pair whose key is 0 is kept aside;</li>
+ * <li>the number of slots is a power of two and the key is mixed before being masked, since the low bits
+ * of a primitive key are often far from random (ids, counters, addresses...).</li>
+ * </ul>
+ * The slots may live {@link #isOffHeap() off-heap}, so that a large table is neither scanned nor copied by the garbage collector.
+ *
+ * @author Njoyim Peguy
+ *
+ */
+public abstract class PrimitiveHashTable {
+
+	/**
+	 * The default number of slots in the hash table.
+	 */
+	protected static final int DEFAULT_CAPACITY = 1 << 4;
+
+	/**
+	 * The maximum number of slots.
+	 */
+	protected static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	/**
+	 * The load factor used when none specified in constructor.
+	 */
+	protected static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/**
+	 * The load factor used when storing key-value pairs, below 1 so that there is always an empty slot ending a probe.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * Whether the slots live in direct memory.
+	 */
+	private final boolean offHeap;
+
+	/**
+	 * Number of slots in the hash table, a power of two.
+	 */
+	protected int M;
+
+	/**
+	 * M - 1, the mask turning a mixed key into a slot.
+	 */
+	protected int mask;
+
+	/**
+	 * Number of key-value pairs in the hash table, including the pair whose key is 0.
+	 */
+	protected int N;
+
+	/**
+	 * Whether the key 0, which is not stored in the slots, is in the hash table.
+	 */
+	protected boolean hasZeroKey;
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 * @param offHeap			whether the slots live in direct memory.
+	 */
+	protected PrimitiveHashTable(int initialCapacity, float loadFactor, boolean offHeap) {
+		if(initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}
+		if(loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}
+
+		this.loadFactor = loadFactor;
+		this.offHeap = offHeap;
+		setCapacity(tableSizeFor(initialCapacity));
+	}
+
+	/**
+	 * @return	the number of key-value pairs in this hash table.
+	 */
+	public int size() {
+		return N;
+	}
+
+	/**
+	 * Check whether this hash table is empty or not.
+	 * @return	true if this table is empty, otherwise false.
+	 */
+	public boolean isEmpty() {
+		return N == 0;
+	}
+
+	/**
+	 * @return	the number of pairs beyond which the hash table is resized.
+	 */
+	public int threshold() {
+		return (int) (loadFactor * M);
+	}
+
+	/**
+	 * @return the load factor.
+	 */
+	protected float loadFactor() {
+		return loadFactor;
+	}
+
+	/**
+	 * @return	true if the slots live in direct memory, out of the reach of the garbage collector.
+	 */
+	public boolean isOffHeap() {
+		return offHeap;
+	}
+
+	/**
+	 * Hash function for keys.
+	 * @param key	the key to be hashed.
+	 * @return		a value between 0 and M-1.
+	 */
+	protected final int hash(long key) {
+		return (int) mix(key) & mask;
+	}
+
+	/**
+	 * Check whether the slot j may hold a key hashed to h after the slot i has been emptied, that is whether
+	 * the slot i lies on the probe from h to j, so that the key of j can be moved back to i.
+	 * @param i		the emptied slot.
+	 * @param j		the slot holding the key, after i in the same cluster.
+	 * @param h		the hash of the key.
+	 * @return		true if the key of j must be moved to i to stay reachable.
+	 */
+	protected final boolean shiftsBack(int i, int j, int h) {
+		// the distances from h, going forward around the table.
+		return ((j - h) & mask) >= ((j - i) & mask);
+	}
+
+	/**
+	 * Make room for a new key: double the number of slots if the hash table has reached its threshold.
+	 * @return	true if the hash table has been resized, so that the slot of the new key must be looked for again.
+	 */
+	protected final boolean ensureCapacity() {
+		if(N < threshold()) {
+			return false;
+		}
+		if(M == MAXIMUM_CAPACITY) {
+			if(N >= M - 1) {
+				throw new IllegalStateException("The hash table is full");
+			}
+			return false;
+		}
+		resize(2 * M);
+		return true;
+	}
+
+	/**
+	 * Halve the number of slots once the hash table is at most a quarter as loaded as its threshold,
+	 * so that the halved table is still half as loaded as its own threshold and is not doubled again by the next insertion.
+	 */
+	protected final void shrink() {
+		if(N > 0 && N <= threshold() / 4 && M > DEFAULT_CAPACITY) {
+			resize(M / 2);
+		}
+	}
+
+	/**
+	 * Set the number of slots, without moving the keys.
+	 */
+	protected final void setCapacity(int capacity) {
+		M = capacity;
+		mask = capacity - 1;
+	}
+
+	/**
+	 * resize the hash table to the given capacity by re-hashing all of the keys
+	 * @param newCapacity		the new capacity, a power of two.
+	 */
+	protected abstract void resize(int newCapacity);
+
+	/**
+	 * @return	the smallest power of two which is greater than or equal to the capacity, within the bounds of the hash table.
+	 */
+	private static int tableSizeFor(int capacity) {
+		if(capacity >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+		return Math.max(size, 2);
+	}
+
+	/**
+	 * The finalizer of MurmurHash3: every bit of the key affects every bit of the result.
+	 * @param key	the key to mix.
+	 * @return		the mixed key.
+	 */
+	static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key;
+	}
+}
@@ -86,84 +86,57 @@ public class RedBlackTree<Key extends Comparable<Key>, Value> extends BinarySear
 			throw new NoSuchElementException("This key " + key + " does not exist within the red-black tree!!");
 		}
 
-		AbstractNode<Key, Value> currentParentNode = nodeTobeRemoved.parent;
-
 		/**
-		 * Unlike to BSTs, there are only two cases to delete a given node in a Red-Black tree.
-		 * 1) The node to be deleted has at most one non-leaf child.
-		 * 2) The node to be deleted has two non-leaf child.
+		 * The node y which leaves its place in the tree is either the node to be removed itself, if it has at most one child,
+		 * or its in-order successor, which then takes its place and its color.
+		 * The node x takes the former place of y, and its subtree lacks a black node if y was black.
 		 */
+		AbstractNode<Key, Value> y = nodeTobeRemoved;
+		Color removedColor = y.color;
+		AbstractNode<Key, Value> x;
+
+		// case 1: the current node to be removed has at most one child, which takes its place.
+		if(nodeTobeRemoved.left == end) {
+			x = nodeTobeRemoved.right;
+			transplant(nodeTobeRemoved, x);
+		}else if(nodeTobeRemoved.right == end) {
+			x = nodeTobeRemoved.left;
+			transplant(nodeTobeRemoved, x);
+
+			// case 2: the current node to be removed has two children, its in-order successor takes its place.
+		}else {
+			y = super.findMin(nodeTobeRemoved.right);
+			removedColor = y.color;
+			x = y.right;
 
-		// case 1: the current node to be removed has exactly one child.
-		if(nodeTobeRemoved.left == end || nodeTobeRemoved.right == end) {
-			AbstractNode<Key, Value> childNode = end;
-
-			// Check whether the left child node does exist.
-			// It it exists, then hold its address.
-			if(nodeTobeRemoved.left != end) {
-				childNode = nodeTobeRemoved.left;
-			}else{
-				// Otherwise hold the right child node address.
-				childNode = nodeTobeRemoved.right;
-			}
-
-			if(nodeTobeRemoved.color == Color.BLACK) {
-				fixDeleteViolation(nodeTobeRemoved);
-			}
-
-			// The node to be removed is root itself.
-			if(nodeTobeRemoved == root) {
-				root.key = null;
-				root.value = null;
-				root.color = null;
-				root = childNode;
+			if(y.parent == nodeTobeRemoved) {
+				// x may be the sentinel node, whose parent must be known by the fix up.
+				x.parent = y;
 			}else {
-
-				// Referencing correctly the parent child node.
-				childNode.parent = currentParentNode;
-
-				// Referencing correctly the current's parent node. 
-				if(currentParentNode.left == nodeTobeRemoved) {
-					currentParentNode.left = childNode;
-				}else{
-					currentParentNode.right = childNode;
-				}
-
-				//Un-referencing process...
-				nodeTobeRemoved.key = null;
-				nodeTobeRemoved.value = null;
-				nodeTobeRemoved.color = null;
+				transplant(y, y.right);
+				y.right = nodeTobeRemoved.right;
+				y.right.parent = y;
 			}
 
-			// case 2: the current node to be removed has exactly two child.
-		}else {
-
-			// 1) Find the minimum element/node in the right subtree of the node to be removed.(i.e., in-order successor)
-			AbstractNode<Key, Value> temp = super.findMin(nodeTobeRemoved.right);
-
-			// 2) Copying data and not the node!
-			nodeTobeRemoved.key = temp.key;
-			nodeTobeRemoved.value = temp.value;
-
-			if(temp.color == Color.BLACK) {
-				fixDeleteViolation(temp);
-			}
+			transplant(nodeTobeRemoved, y);
+			y.left = nodeTobeRemoved.left;
+			y.left.parent = y;
+			y.color = nodeTobeRemoved.color;
+		}
 
-			// Holds the address of the successor's parent.
-			AbstractNode<Key, Value> parentTempNode = temp.parent;
+		if(removedColor == Color.BLACK) {
+			fixDeleteViolation(x);
+		}
 
-			if(parentTempNode.left == temp) {
-				parentTempNode.left = end;
-			}else {
-				parentTempNode.right = end;
-			}
+		// The sentinel node may have been given a parent for the fix up.
+		end.parent = end;
 
-			//Un-referencing process...
-			temp.key = null;
-			temp.value = null;
-			temp.color = null;
-			return;
-		}
+		//Un-referencing process...
+		nodeTobeRemoved.key = null;
+		nodeTobeRemoved.value = null;
+		nodeTobeRemoved.color = null;
+		nodeTobeRemoved.parent = nodeTobeRemoved.left = nodeTobeRemoved.right = null;
+		return;
 	}
 
 	@Override
@@ -185,6 +158,22 @@ public class RedBlackTree<Key extends Comparable<Key>, Value> extends BinarySear
 	 *  red-black tree helper functions
 	 *************************************************************************/
 
+	/**
+	 * Replace the subtree rooted at a given node by the subtree rooted at another one, in the parent of the former.
+	 * @param u		the node to be replaced.
+	 * @param v		the node taking its place, possibly the sentinel node.
+	 */
+	private void transplant(AbstractNode<Key, Value> u, AbstractNode<Key, Value> v) {
+		if(u.parent == end) {
+			root = v;
+		}else if(u == u.parent.left) {
+			u.parent.left = v;
+		}else {
+			u.parent.right = v;
+		}
+		v.parent = u.parent;
+	}
+
 	/**
 	 * Perform the left rotate of a given node
 	 * @param current	a given node.
@@ -0,0 +1,254 @@
+package structures;
+
+import java.util.Iterator;
+
+/**
+ * A {@link LinearProbing linear probing} hash table which keeps the probes short with Robin Hood hashing.</br></br>
+ *
+ * The probe distance of a key is how far it lies from the slot it hashes to. While inserting, a key which has probed further
+ * than the key of the slot it reaches takes the slot, and the displaced key goes on probing: the rich give to the poor.
+ * The distances are evened out, so that their variance stays low even at a load factor of 0.9, and a lookup stops
+ * as soon as it has probed further than the key of the slot, long before the empty slot ending the cluster.</br>
+ * A key is deleted by moving back the following keys of its cluster, one slot each, until a key which is already in its own slot.</br>
+ * The hash codes are cached, so that the distances are computed and the table is resized without calling {@link Object#hashCode()},
+ * and a key is compared with {@link Object#equals(Object)} only when both hash codes match.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Hash_table#Robin_Hood_hashing">Robin Hood hashing</a>
+ * @author Njoyim Peguy
+ *
+ * @param <K>	key type
+ * @param <V>	value type.
+ */
+public final class RobinHoodHashing<K, V> extends HashTable<K, V> {
+
+	/**
+	 * The load factor used when none specified in constructor.
+	 */
+	public static final float DEFAULT_LOAD_FACTOR = 0.9f;
+
+	/**
+	 * Internal storage for keys.
+	 */
+	private K[] keys;
+
+	/**
+	 * Internal storage for values.
+	 */
+	private V[] values;
+
+	/**
+	 * Internal storage for the hash codes of the keys.
+	 */
+	private int[] hashes;
+
+	public RobinHoodHashing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public RobinHoodHashing(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 */
+	public RobinHoodHashing(int initialCapacity, float loadFactor) {
+		super(Math.max(initialCapacity, 1), loadFactor);
+		if(loadFactor >= 1) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}
+		keys = (K[]) new Object[M];
+		values = (V[]) new Object[M];
+		hashes = new int[M];
+	}
+
+	/**
+	 * @return	the slot a key of the given hash code hashes to.
+	 */
+	private int home(int hashCode) {
+		// the hash code is scrambled by a multiplication by the golden ratio whose high bits are folded into the low ones:
+		// the hash codes of similar strings are close to each other, which would pile them up in long runs of slots.
+		int h = hashCode * 0x9E3779B9;
+		return ((h ^ (h >>> 16)) & 0x7fffffff) % M;
+	}
+
+	/**
+	 * @return	the probe distance of the key of the given hash code when it lies in the slot i.
+	 */
+	private int distance(int i, int hashCode) {
+		int d = i - home(hashCode);
+		return d < 0 ? d + M : d;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		RobinHoodHashing<K, V> temp = new RobinHoodHashing<K, V>(newCapacity, loadFactor());
+
+		for(int k = 0; k < M; k++) {
+			if(keys[k] != null) {
+				temp.insert(keys[k], values[k], hashes[k]);
+			}
+		}
+
+		keys = temp.keys;
+		values = temp.values;
+		hashes = temp.hashes;
+		M = temp.M;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if(value == null) {
+			delete(key);
+			return;
+		}
+
+		int h = key.hashCode();
+		int i = indexOf(key, h);
+		if(i >= 0) {// rewriting if there are duplicates.
+			values[i] = value;
+			return;
+		}
+
+		if(N >= threshold()) {
+			rehash(2 * M);
+		}
+		insert(key, value, h);
+	}
+
+	/**
+	 * Insert a key which is not in the hash table, swapping it with every key which has probed less far.
+	 */
+	private void insert(K key, V value, int h) {
+		int i = home(h);
+		for(int d = 0; keys[i] != null; d++) {
+			int other = distance(i, hashes[i]);
+			if(other < d) {
+				K k = keys[i];
+				V v = values[i];
+				int hk = hashes[i];
+				keys[i] = key;
+				values[i] = value;
+				hashes[i] = h;
+				key = k;
+				value = v;
+				h = hk;
+				d = other;
+			}
+			i = (i + 1) % M;
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		hashes[i] = h;
+		N++;
+	}
+
+	@Override
+	public V get(K key) {
+		int i = indexOf(key, key.hashCode());
+		return i < 0 ? null : values[i];
+	}
+
+	/**
+	 * @return	the slot of the given key, or -1 if it is missing.
+	 */
+	private int indexOf(K key, int h) {
+		int i = home(h);
+		// the key would have taken any slot whose key has probed less far.
+		int d = 0;
+		for(; keys[i] != null && d <= distance(i, hashes[i]); d++) {
+			if(hashes[i] == h && keys[i].equals(key)) {
+				recordProbes(d + 1);
+				return i;
+			}
+			i = (i + 1) % M;
+		}
+		recordProbes(d + 1);
+		return -1;
+	}
+
+	@Override
+	public void delete(K key) {
+		int i = indexOf(key, key.hashCode());
+		if(i < 0) return;
+
+		// shift the rest of the cluster back, until an empty slot or a key in its own slot.
+		int shifted = 0;
+		for(int j = (i + 1) % M; keys[j] != null && distance(j, hashes[j]) > 0; j = (j + 1) % M, shifted++) {
+			keys[i] = keys[j];
+			values[i] = values[j];
+			hashes[i] = hashes[j];
+			i = j;
+		}
+		keys[i] = null;
+		values[i] = null;
+		hashes[i] = 0;
+		N--;
+		recordDelete(shifted, false);
+
+		// a quarter of the threshold, so that the halved table is not full at once.
+		if(M > DEFAULT_CAPACITY && N <= threshold() / 4) {
+			rehash(M / 2);
+		}
+	}
+
+	/**
+	 * @return	the longest probe distance of the keys, that is the number of slots a lookup probes beyond the first one at worst.
+	 */
+	public int maxProbeDistance() {
+		int max = 0;
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				max = Math.max(max, distance(i, hashes[i]));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return	the mean probe distance of the keys, 0 if the hash table is empty.
+	 */
+	public double meanProbeDistance() {
+		if(N == 0) {
+			return 0;
+		}
+		long sum = 0;
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				sum += distance(i, hashes[i]);
+			}
+		}
+		return (double) sum / N;
+	}
+
+	@Override
+	public long[] chainLengths() {
+		return clusterLengths(M, i -> keys[i] != null);
+	}
+
+	@Override
+	public String toString() {
+		String str =  "";
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				str += "Key = " + keys[i] + ", Value = " + values[i] + "\n";
+			}
+		}
+		return str;
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		Queue<K> queue = new Queue<>();
+
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				queue.Enqueue(keys[i]);
+			}
+		}
+		return queue;
+	}
+}
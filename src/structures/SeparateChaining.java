@@ -2,46 +2,306 @@ package structures;
 
 import java.util.Iterator;
 
+/**
+ * A hash table whose slots each hold the keys hashed to them in a linked list, the chain.</br></br>
+ *
+ * A chain is made of small nodes which cache the hash codes of their keys, so that a key is compared with {@link Object#equals(Object)}
+ * only when the hash codes match; an empty slot costs a single null reference.
+ * A chain longer than {@link #TREEIFY_THRESHOLD} keys, which only happens with many colliding hash codes, is turned into
+ * a {@link RedBlackTree}, balanced whatever the order of the insertions, so that its lookups stay logarithmic;
+ * it turns back into a chain once it has shrunk to {@link #UNTREEIFY_THRESHOLD} keys.</br>
+ * When the hash table is {@link #setIncrementalResize(boolean) resized incrementally}, the chains of the old table are moved
+ * one slot after the other to the new table, and a key which is still in the old table is looked for there.
+ *
+ * @author Njoyim Peguy
+ *
+ * @param <K>	key type
+ * @param <V>	value type.
+ */
 public final class SeparateChaining<K extends Comparable<K>, V> extends HashTable<K, V> {
 
-	private BinarySearchTree<K, V> bst[];
+	/**
+	 * Beyond this number of keys, a chain is turned into a tree.
+	 */
+	static final int TREEIFY_THRESHOLD = 8;
+
+	/**
+	 * Down to this number of keys, a tree is turned back into a chain.
+	 */
+	static final int UNTREEIFY_THRESHOLD = 6;
+
+	/**
+	 * The heads of the chains, or the trees.
+	 */
+	private Node<K, V> table[];
+
+	/**
+	 * The chains of the table being resized, null if there is no incremental resize in progress.
+	 */
+	private Node<K, V> oldTable[];
+
+	/**
+	 * The slots of the old table below this index have been moved.
+	 */
+	private int migrated;
 
 	public SeparateChaining() {
-		super();
+		this(DEFAULT_CAPACITY);
 	}
 
 	public SeparateChaining(int initialCapacity) {
-		
-		super(initialCapacity);
-		
-		bst = new BinarySearchTree[initialCapacity];
 
-		for(int i = 0; i < M; i++) {
-			bst[i] = new BinarySearchTree<>();
+		super(Math.max(initialCapacity, 1));
+
+		table = new Node[M];
+	}
+
+	/**
+	 * A link of a chain.
+	 */
+	private static class Node<K, V> {
+
+		final int hash;
+
+		final K key;
+
+		V value;
+
+		Node<K, V> next;
+
+		Node(int hash, K key, V value, Node<K, V> next) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * The head of a slot whose keys are in a tree.
+	 */
+	private static final class TreeBin<K extends Comparable<K>, V> extends Node<K, V> {
+
+		final RedBlackTree<K, V> tree = new RedBlackTree<>();
+
+		/**
+		 * The number of keys of the tree, whose {@link RedBlackTree#size()} walks the whole tree.
+		 */
+		int size;
+
+		TreeBin() {
+			super(0, null, null, null);
+		}
+	}
+
+	/**
+	 * @return	the slot of a key of the given hash code in a table of m slots.
+	 */
+	private static int indexFor(int hashCode, int m) {
+		return (hashCode & 0x7fffffff) % m;
+	}
+
+	/**
+	 * @return	the value of the key in the slot i of the table, null if it is not there.
+	 * Only the lookups in the current table are recorded, so that a lookup through both tables counts once.
+	 */
+	private V find(Node<K, V>[] tab, int i, K key, int h) {
+		Node<K, V> first = tab[i];
+		if(first instanceof TreeBin) {
+			// the tree is walked here, so that the nodes compared are counted.
+			RedBlackTree<K, V> tree = ((TreeBin<K, V>) first).tree;
+			int probes = 0;
+			for(AbstractNode<K, V> node = tree.root; node != tree.end; ) {
+				probes++;
+				int cmp = key.compareTo(node.key);
+				if(cmp == 0) {
+					if(tab == table) recordProbes(probes);
+					return node.value;
+				}
+				node = cmp < 0 ? node.left : node.right;
+			}
+			if(tab == table) recordProbes(probes);
+			return null;
+		}
+		int probes = 0;
+		for(Node<K, V> e = first; e != null; e = e.next) {
+			probes++;
+			if(e.hash == h && e.key.equals(key)) {
+				if(tab == table) recordProbes(probes);
+				return e.value;
+			}
 		}
+		if(tab == table) recordProbes(probes);
+		return null;
+	}
+
+	/**
+	 * Insert or replace the key in the slot i of the table.
+	 * @return	true if the key is new.
+	 */
+	private boolean insert(Node<K, V>[] tab, int i, K key, int h, V value) {
+		Node<K, V> first = tab[i];
+		if(first instanceof TreeBin) {
+			TreeBin<K, V> bin = (TreeBin<K, V>) first;
+			boolean added = !bin.tree.contains(key);
+			bin.tree.put(key, value);
+			if(added) bin.size++;
+			return added;
+		}
+
+		int length = 0;
+		for(Node<K, V> e = first; e != null; e = e.next, length++) {
+			if(e.hash == h && e.key.equals(key)) {// rewriting if there are duplicates.
+				e.value = value;
+				return false;
+			}
+		}
+
+		tab[i] = new Node<>(h, key, value, first);
+		if(length + 1 > TREEIFY_THRESHOLD) {
+			treeify(tab, i);
+		}
+		return true;
+	}
+
+	/**
+	 * Delete the key from the slot i of the table.
+	 * @return	true if the key was there.
+	 */
+	private boolean remove(Node<K, V>[] tab, int i, K key, int h) {
+		Node<K, V> first = tab[i];
+		if(first instanceof TreeBin) {
+			TreeBin<K, V> bin = (TreeBin<K, V>) first;
+			if(!bin.tree.contains(key)) {
+				return false;
+			}
+			bin.tree.delete(key);
+			if(--bin.size <= UNTREEIFY_THRESHOLD) {
+				untreeify(tab, i);
+			}
+			return true;
+		}
+
+		for(Node<K, V> e = first, pred = null; e != null; pred = e, e = e.next) {
+			if(e.hash == h && e.key.equals(key)) {
+				if(pred == null) {
+					tab[i] = e.next;
+				}else {
+					pred.next = e.next;
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void treeify(Node<K, V>[] tab, int i) {
+		TreeBin<K, V> bin = new TreeBin<>();
+		for(Node<K, V> e = tab[i]; e != null; e = e.next) {
+			bin.tree.put(e.key, e.value);
+			bin.size++;
+		}
+		tab[i] = bin;
+	}
+
+	private void untreeify(Node<K, V>[] tab, int i) {
+		Node<K, V> chain = null;
+		for(Entry<K, V> entry : ((TreeBin<K, V>) tab[i]).tree.LevelOrderArray()) {
+			chain = new Node<>(entry.getKey().hashCode(), entry.getKey(), entry.getValue(), chain);
+		}
+		tab[i] = chain;
 	}
 
 	@Override
-	public Iterator<K> iterator() {
-		Queue<K> queue = new Queue<>();
-		return queue;
+	protected boolean supportsIncrementalResize() {
+		return true;
+	}
+
+	@Override
+	public boolean isResizing() {
+		return oldTable != null;
 	}
 
 	@Override
 	protected void resize(int newCapacity) {
-		SeparateChaining<K, V> temp = new SeparateChaining<>();
+		completeResize();
 
-		for(int i = 0; i < M; i++) {
-			for(Entry<K, V> entry : bst[i].LevelOrderArray()) {
-				temp.put(entry.getKey(), entry.getValue());
+		if(isIncrementalResize() && N > 0) {
+			oldTable = table;
+			migrated = 0;
+			table = new Node[newCapacity];
+			M = newCapacity;
+			return;
+		}
+
+		Node<K, V> old[] = table;
+		table = new Node[newCapacity];
+		M = newCapacity;
+
+		for(Node<K, V> first : old) {
+			moveAll(first);
+		}
+	}
+
+	@Override
+	protected void completeResize() {
+		while(oldTable != null) {
+			migrate(Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Move the chains of the next slots of the old table to the new table, then drop the old table once it is empty.
+	 * @param slots	the number of slots to move.
+	 */
+	private void migrate(int slots) {
+		if(oldTable == null) return;
+
+		int end = (int) Math.min(oldTable.length, (long) migrated + slots);
+		for(; migrated < end; migrated++) {
+			moveAll(oldTable[migrated]);
+			oldTable[migrated] = null;
+		}
+
+		if(migrated == oldTable.length) {
+			oldTable = null;
+		}
+	}
+
+	/**
+	 * Insert the keys of a slot of the old table, which are not in the new table, in the new table.
+	 */
+	private void moveAll(Node<K, V> first) {
+		if(first instanceof TreeBin) {
+			for(Entry<K, V> entry : ((TreeBin<K, V>) first).tree.LevelOrderArray()) {
+				int h = entry.getKey().hashCode();
+				insert(table, indexFor(h, M), entry.getKey(), h, entry.getValue());
+			}
+			return;
+		}
+
+		for(Node<K, V> e = first, next; e != null; e = next) {
+			next = e.next;
+			int i = indexFor(e.hash, M);
+			if(table[i] instanceof TreeBin) {
+				insert(table, i, e.key, e.hash, e.value);
+			}else {
+				// the node itself is relinked, its key being new to the slot.
+				e.next = table[i];
+				table[i] = e;
+				if(chainLength(table[i]) > TREEIFY_THRESHOLD) {
+					treeify(table, i);
+				}
 			}
 		}
-		
-		this.M  = temp.M;
-        this.N  = temp.N;
-        this.bst = temp.bst;
-        temp = null;
-        return;
+	}
+
+	private static int chainLength(Node<?, ?> first) {
+		int length = 0;
+		for(Node<?, ?> e = first; e != null && length <= TREEIFY_THRESHOLD; e = e.next) {
+			length++;
+		}
+		return length;
 	}
 
 	@Override
@@ -51,43 +311,169 @@ public final class SeparateChaining<K extends Comparable<K>, V> extends HashTabl
 			return;
 		}
 
-		if(N >= threshold()) {
-			resize(M * 2);
+		migrate(MIGRATION_STEP);
+
+		int h = key.hashCode();
+		if(oldTable != null && remove(oldTable, indexFor(h, oldTable.length), key, h)) {// the key is moved to the new table.
+			insert(table, indexFor(h, M), key, h, value);
+			return;
 		}
 
-		int i = hash(key);
+		int i = indexFor(h, M);
+		if(find(table, i, key, h) != null) {// rewriting if there are duplicates.
+			insert(table, i, key, h, value);
+			return;
+		}
 
-		if(!bst[i].contains(key)) N++;
+		// only a new key may resize the table, which would otherwise move the key found above to the old table.
+		if(N >= threshold()) {
+			rehash(M * 2);
+			i = indexFor(h, M);
+		}
 
-		bst[i].put(key, value);
+		insert(table, i, key, h, value);
+		N++;
 		return;
 	}
 
 	@Override
 	public V get(K key) {
-		int i = hash(key);
-		return bst[i].get(key);
+		migrate(MIGRATION_STEP);
+
+		int h = key.hashCode();
+		if(oldTable != null) {
+			V value = find(oldTable, indexFor(h, oldTable.length), key, h);
+			if(value != null) {
+				return value;
+			}
+		}
+		return find(table, indexFor(h, M), key, h);
+	}
+
+	@Override
+	public int getAll(K[] batch, V[] results) {
+		checkBatch(batch, results);
+		migrate(MIGRATION_STEP);
+
+		int found = 0;
+		int hash[] = new int[LOOKUP_BATCH];
+		Node<K, V> first[] = new Node[LOOKUP_BATCH];
+		for(int from = 0; from < batch.length; from += LOOKUP_BATCH) {
+			int n = Math.min(LOOKUP_BATCH, batch.length - from);
+
+			// the lookups of a group go through each stage together: the loads of a stage are independent of each other,
+			// so that the processor waits for their cache misses at the same time instead of one after the other.
+			// 1) the hashes, and the heads of the chains,
+			for(int j = 0; j < n; j++) {
+				hash[j] = batch[from + j].hashCode();
+				first[j] = table[indexFor(hash[j], M)];
+			}
+
+			// 2) the comparisons with the heads, the rest of the chains being walked on their own.
+			for(int j = 0; j < n; j++) {
+				K key = batch[from + j];
+				Node<K, V> e = first[j];
+				V value;
+				if(e != null && !(e instanceof TreeBin) && e.hash == hash[j] && e.key.equals(key)) {
+					value = e.value;
+					recordProbes(1);
+				}else if(e == null) {
+					value = null;
+					recordProbes(0);
+				}else {
+					value = find(table, indexFor(hash[j], M), key, hash[j]);
+				}
+				if(value == null && oldTable != null) {
+					value = find(oldTable, indexFor(hash[j], oldTable.length), key, hash[j]);
+				}
+
+				results[from + j] = value;
+				if(value != null) found++;
+				first[j] = null;
+			}
+		}
+		return found;
 	}
 
 	@Override
 	public void delete(K key) {
-		int i = hash(key);
-		if (bst[i].contains(key)) N--;
-		bst[i].delete(key);
+		migrate(MIGRATION_STEP);
+
+		int h = key.hashCode();
+		if(oldTable != null && remove(oldTable, indexFor(h, oldTable.length), key, h)) {
+			N--;
+			recordDelete(0, false);
+			return;
+		}
 
-		// halve table size if average length of list <= 1
-		if (M > DEFAULT_CAPACITY && N <= 2*M) resize(M/2);
+		if(!remove(table, indexFor(h, M), key, h)) return;
+		N--;
+		recordDelete(0, false);
+
+		// halve table size if average length of list <= 1/4, so that the halved table is not full at once.
+		if (oldTable == null && M > DEFAULT_CAPACITY && N <= threshold() / 4) rehash(M/2);
+	}
+
+	@Override
+	public long[] chainLengths() {
+		long[] histogram = new long[TREEIFY_THRESHOLD + 1];
+		for(Node<K, V> first : table) {
+			int length = 0;
+			if(first instanceof TreeBin) {
+				length = ((TreeBin<K, V>) first).size;
+			}else {
+				for(Node<K, V> e = first; e != null; e = e.next) {
+					length++;
+				}
+			}
+			histogram = count(histogram, length);
+		}
+		return histogram;
 	}
-	
+
+	@Override
+	public Iterator<K> iterator() {
+		Queue<K> queue = new Queue<>();
+
+		for(Node<K, V> first : table) {
+			enqueueKeys(first, queue);
+		}
+		for(int i = migrated; oldTable != null && i < oldTable.length; i++) {
+			enqueueKeys(oldTable[i], queue);
+		}
+		return queue;
+	}
+
+	private static <K extends Comparable<K>, V> void enqueueKeys(Node<K, V> first, Queue<K> queue) {
+		if(first instanceof TreeBin) {
+			for(K key : ((TreeBin<K, V>) first).tree) {
+				queue.Enqueue(key);
+			}
+			return;
+		}
+		for(Node<K, V> e = first; e != null; e = e.next) {
+			queue.Enqueue(e.key);
+		}
+	}
+
 	public void clear() {
-		bst = null;
+		oldTable = null;
+		table = new Node[M];
+		N = 0;
 	}
-	
+
 	public void display() {
+		completeResize();
 		for(int i = 0; i < M; i++) {
 			System.out.print(i);
-			for(Entry<K, V> entry : bst[i].LevelOrderArray()) {
-				System.out.println(" --> " + entry);
+			if(table[i] instanceof TreeBin) {
+				for(Entry<K, V> entry : ((TreeBin<K, V>) table[i]).tree.LevelOrderArray()) {
+					System.out.println(" --> " + entry);
+				}
+			}else {
+				for(Node<K, V> e = table[i]; e != null; e = e.next) {
+					System.out.println(" --> " + new Entry<>(e.key, e.value));
+				}
 			}
 			System.out.println();
 		}
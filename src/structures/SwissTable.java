@@ -0,0 +1,332 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An open-addressing hash table which probes groups of 8 slots at once, after the "Swiss tables" of Abseil.</br></br>
+ *
+ * Next to the keys, each slot has a control byte: either empty, deleted, or the 7 low bits of the hash of its key.
+ * The 8 control bytes of a group are packed in a long, so that the slots of a group whose bytes match the hash of a key
+ * are found by a few arithmetic operations on the whole word (SWAR: SIMD within a register), without any branch per slot.
+ * Only these candidates, one in 128 of the other keys on average, have their cached hash code compared and then their key
+ * compared with {@link Object#equals(Object)}: a lookup touches the control word and, most of the time, the one key it is looking for.</br>
+ * The groups are probed in a triangular sequence, which visits every group since their number is a power of two;
+ * a probe stops at the first group holding an empty slot.
+ * A deleted slot becomes empty again when its group has an empty slot, since no probe ever went past such a group;
+ * otherwise it becomes a tombstone, which is reused by the insertions and dropped by the next rehash.
+ *
+ * @see <a href="https://abseil.io/about/design/swisstables">Swiss tables design notes</a>
+ * @author Njoyim Peguy
+ *
+ * @param <K>	key type
+ * @param <V>	value type.
+ */
+public final class SwissTable<K, V> extends HashTable<K, V> {
+
+	/**
+	 * The load factor used when none specified in constructor.
+	 */
+	public static final float DEFAULT_LOAD_FACTOR = 0.875f;
+
+	/**
+	 * The number of slots of a group, the number of bytes of a control word.
+	 */
+	private static final int GROUP_WIDTH = 8;
+
+	/**
+	 * The control byte of an empty slot: 1000 0000.
+	 */
+	private static final int EMPTY = 0x80;
+
+	/**
+	 * The control byte of a deleted slot: 1111 1110.
+	 */
+	private static final int DELETED = 0xFE;
+
+	/**
+	 * A control word whose bytes are all empty.
+	 */
+	private static final long ALL_EMPTY = 0x8080808080808080L;
+
+	/**
+	 * The lowest bit of each byte.
+	 */
+	private static final long LSBS = 0x0101010101010101L;
+
+	/**
+	 * The highest bit of each byte.
+	 */
+	private static final long MSBS = 0x8080808080808080L;
+
+	/**
+	 * The control words, one per group.
+	 */
+	private long[] ctrl;
+
+	/**
+	 * Internal storage for keys.
+	 */
+	private K[] keys;
+
+	/**
+	 * Internal storage for values.
+	 */
+	private V[] values;
+
+	/**
+	 * Internal storage for the hashes of the keys.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The number of groups minus one.
+	 */
+	private int groupMask;
+
+	/**
+	 * The number of tombstones.
+	 */
+	private int deleted;
+
+	public SwissTable() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public SwissTable(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Create a hash table.
+	 * @param initialCapacity	the number of slots, rounded up to a power of two of at least {@value #GROUP_WIDTH}.
+	 * @param loadFactor		the load factor, strictly between 0 and 1.
+	 */
+	public SwissTable(int initialCapacity, float loadFactor) {
+		super(initialCapacity, loadFactor);
+		if(loadFactor >= 1) {
+			throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+		}
+		allocate(Math.max(GROUP_WIDTH, Integer.highestOneBit(Math.max(M - 1, 1)) << 1));
+	}
+
+	private void allocate(int capacity) {
+		M = capacity;
+		groupMask = capacity / GROUP_WIDTH - 1;
+		ctrl = new long[capacity / GROUP_WIDTH];
+		Arrays.fill(ctrl, ALL_EMPTY);
+		keys = (K[]) new Object[capacity];
+		values = (V[]) new Object[capacity];
+		hashes = new int[capacity];
+		deleted = 0;
+	}
+
+	/**
+	 * @return	the hash code scrambled by a multiplication by the golden ratio whose high bits are folded into the low ones.
+	 */
+	private static int spread(int hashCode) {
+		int h = hashCode * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * @return	the first group probed for the given hash.
+	 */
+	private int firstGroup(int h) {
+		return (h >>> 7) & groupMask;
+	}
+
+	/**
+	 * @return	the 7 bits of the given hash stored in the control byte.
+	 */
+	private static int fingerprint(int h) {
+		return h & 0x7F;
+	}
+
+	/**
+	 * @return	a word whose highest bit of each byte is set if the byte of the control word is the given fingerprint.
+	 * It may also set the bit of a byte just above a matching one; such a false positive is rejected by the comparison of the hashes.
+	 */
+	private static long match(long word, int fingerprint) {
+		long x = word ^ (LSBS * fingerprint);
+		return (x - LSBS) & ~x & MSBS;
+	}
+
+	/**
+	 * @return	a word whose highest bit of each byte is set if the byte of the control word is empty.
+	 */
+	private static long matchEmpty(long word) {
+		// only an empty byte has both its highest bit set and its second lowest bit cleared.
+		return word & (~word << 6) & MSBS;
+	}
+
+	/**
+	 * @return	a word whose highest bit of each byte is set if the byte of the control word is empty or deleted.
+	 */
+	private static long matchEmptyOrDeleted(long word) {
+		// only an empty or deleted byte has both its highest bit set and its lowest bit cleared.
+		return word & ~(word << 7) & MSBS;
+	}
+
+	/**
+	 * @return	the index within its group of the slot of the lowest bit set in the match.
+	 */
+	private static int lowestSlot(long match) {
+		return Long.numberOfTrailingZeros(match) >>> 3;
+	}
+
+	private void setCtrl(int slot, int value) {
+		int group = slot / GROUP_WIDTH, shift = (slot % GROUP_WIDTH) * 8;
+		ctrl[group] = (ctrl[group] & ~(0xFFL << shift)) | ((long) value << shift);
+	}
+
+	/**
+	 * @return	the slot of the given key, or -1 if it is missing.
+	 * The probe length recorded is the number of slots whose fingerprint matched, the others being skipped a group at a time.
+	 */
+	private int indexOf(K key, int h) {
+		int fingerprint = fingerprint(h);
+		int probes = 0;
+		for(int group = firstGroup(h), step = 1; ; group = (group + step++) & groupMask) {
+			long word = ctrl[group];
+			for(long m = match(word, fingerprint); m != 0; m &= m - 1) {
+				int slot = group * GROUP_WIDTH + lowestSlot(m);
+				probes++;
+				if(hashes[slot] == h && keys[slot].equals(key)) {
+					recordProbes(probes);
+					return slot;
+				}
+			}
+			if(matchEmpty(word) != 0) {
+				recordProbes(probes);
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * @return	the first empty or deleted slot of the probe of the given hash.
+	 */
+	private int findInsertSlot(int h) {
+		for(int group = firstGroup(h), step = 1; ; group = (group + step++) & groupMask) {
+			long m = matchEmptyOrDeleted(ctrl[group]);
+			if(m != 0) {
+				return group * GROUP_WIDTH + lowestSlot(m);
+			}
+		}
+	}
+
+	/**
+	 * Insert a key which is not in the table, without resizing it.
+	 */
+	private void place(K key, V value, int h) {
+		int slot = findInsertSlot(h);
+		if(((ctrl[slot / GROUP_WIDTH] >>> ((slot % GROUP_WIDTH) * 8)) & 0xFF) == DELETED) {
+			deleted--;
+		}
+		setCtrl(slot, fingerprint(h));
+		keys[slot] = key;
+		values[slot] = value;
+		hashes[slot] = h;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		long[] oldCtrl = ctrl;
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		int[] oldHashes = hashes;
+
+		allocate(Math.max(GROUP_WIDTH, newCapacity));
+
+		for(int group = 0; group < oldCtrl.length; group++) {
+			// the full slots are the ones whose highest bit is cleared.
+			for(long m = ~oldCtrl[group] & MSBS; m != 0; m &= m - 1) {
+				int slot = group * GROUP_WIDTH + lowestSlot(m);
+				place(oldKeys[slot], oldValues[slot], oldHashes[slot]);
+			}
+		}
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if(value == null) {
+			delete(key);
+			return;
+		}
+
+		int h = spread(key.hashCode());
+		int slot = indexOf(key, h);
+		if(slot >= 0) {// rewriting if there are duplicates.
+			values[slot] = value;
+			return;
+		}
+
+		if(N + deleted >= threshold()) {
+			// many tombstones are dropped by a rehash in place, otherwise the table is doubled.
+			rehash(N < threshold() / 2 ? M : 2 * M);
+		}
+
+		place(key, value, h);
+		N++;
+	}
+
+	@Override
+	public V get(K key) {
+		int slot = indexOf(key, spread(key.hashCode()));
+		return slot < 0 ? null : values[slot];
+	}
+
+	@Override
+	public void delete(K key) {
+		int slot = indexOf(key, spread(key.hashCode()));
+		if(slot < 0) return;
+
+		boolean tombstone = matchEmpty(ctrl[slot / GROUP_WIDTH]) == 0;
+		if(!tombstone) {
+			setCtrl(slot, EMPTY);
+		}else {
+			setCtrl(slot, DELETED);
+			deleted++;
+		}
+		keys[slot] = null;
+		values[slot] = null;
+		N--;
+		recordDelete(0, tombstone);
+
+		if(M > DEFAULT_CAPACITY && N <= threshold() / 4) {
+			rehash(M / 2);
+		}
+	}
+
+	/**
+	 * Count the clusters of consecutive slots which are full or deleted, the tombstones lengthening the probes like the keys.
+	 */
+	@Override
+	public long[] chainLengths() {
+		return clusterLengths(M, i -> ((ctrl[i / GROUP_WIDTH] >>> ((i % GROUP_WIDTH) * 8)) & 0xFF) != EMPTY);
+	}
+
+	@Override
+	public String toString() {
+		String str =  "";
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				str += "Key = " + keys[i] + ", Value = " + values[i] + "\n";
+			}
+		}
+		return str;
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		Queue<K> queue = new Queue<>();
+
+		for(int i = 0; i < M; i++) {
+			if(keys[i] != null) {
+				queue.Enqueue(keys[i]);
+			}
+		}
+		return queue;
+	}
+}